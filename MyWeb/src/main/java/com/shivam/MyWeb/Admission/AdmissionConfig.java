@@ -0,0 +1,26 @@
+package com.shivam.MyWeb.Admission;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration
+@EnableConfigurationProperties(AdmissionProperties.class)
+public class AdmissionConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "users.admission", name = "enabled", matchIfMissing = true)
+    public FilterRegistrationBean<AdmissionControlFilter> admissionControlFilter(AdmissionProperties properties,
+                                                                                MeterRegistry meterRegistry) {
+        FilterRegistrationBean<AdmissionControlFilter> registration =
+                new FilterRegistrationBean<>(new AdmissionControlFilter(properties, meterRegistry));
+        registration.addUrlPatterns("/users", "/users/*");
+        // Shed before any other filter spends time on the request
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
@@ -0,0 +1,85 @@
+package com.shivam.MyWeb.Admission;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Admits or sheds /users requests before they reach the controller.
+ *
+ * Each {@link RouteClass} has its own {@link AimdLimiter}. A request over its limit gets an immediate 503
+ * with Retry-After instead of waiting in the Tomcat queue. Bulk requests are also shed while single-user
+ * reads are close to their limit, so reads keep priority.
+ */
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    private final AdmissionProperties properties;
+    private final Map<RouteClass, AimdLimiter> limiters = new EnumMap<>(RouteClass.class);
+    private final Map<RouteClass, Counter> admitted = new EnumMap<>(RouteClass.class);
+    private final Map<RouteClass, Counter> shed = new EnumMap<>(RouteClass.class);
+
+    public AdmissionControlFilter(AdmissionProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        for (RouteClass routeClass : RouteClass.values()) {
+            AdmissionProperties.Limit limit = properties.forRouteClass(routeClass);
+            AimdLimiter limiter = new AimdLimiter(limit.getInitial(), limit.getMin(), limit.getMax(),
+                    limit.getTargetLatencyMillis() * 1_000_000L, properties.getBackoffRatio());
+            limiters.put(routeClass, limiter);
+
+            String tag = routeClass.name().toLowerCase();
+            admitted.put(routeClass, Counter.builder("users.admission.requests")
+                    .tag("class", tag).tag("outcome", "admitted").register(meterRegistry));
+            shed.put(routeClass, Counter.builder("users.admission.requests")
+                    .tag("class", tag).tag("outcome", "shed").register(meterRegistry));
+            Gauge.builder("users.admission.limit", limiter, AimdLimiter::getLimit)
+                    .tag("class", tag).register(meterRegistry);
+            Gauge.builder("users.admission.inflight", limiter, AimdLimiter::getInFlight)
+                    .tag("class", tag).register(meterRegistry);
+        }
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RouteClass routeClass = RouteClass.of(request);
+        AimdLimiter limiter = limiters.get(routeClass);
+
+        if (!admit(routeClass, limiter)) {
+            shed.get(routeClass).increment();
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(properties.getRetryAfterSeconds()));
+            return;
+        }
+
+        admitted.get(routeClass).increment();
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            limiter.release(System.nanoTime() - start);
+        }
+    }
+
+    private boolean admit(RouteClass routeClass, AimdLimiter limiter) {
+        if (routeClass == RouteClass.BULK
+                && limiters.get(RouteClass.READ).isUnderPressure(properties.getReadPressureThreshold())) {
+            return false;
+        }
+        return limiter.tryAcquire();
+    }
+
+    public AimdLimiter getLimiter(RouteClass routeClass) {
+        return limiters.get(routeClass);
+    }
+}
@@ -0,0 +1,82 @@
+package com.shivam.MyWeb.Admission;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings for admission control on the /users routes (prefix {@code users.admission}).
+ */
+@ConfigurationProperties(prefix = "users.admission")
+public class AdmissionProperties {
+
+    private boolean enabled = true;
+
+    // Seconds sent back in Retry-After when a request is shed
+    private long retryAfterSeconds = 1;
+
+    // Bulk requests are shed once reads use this fraction of their limit
+    private double readPressureThreshold = 0.8;
+
+    private double backoffRatio = 0.9;
+
+    private Limit read = new Limit(64, 8, 512, 50);
+    private Limit write = new Limit(32, 4, 256, 100);
+    private Limit bulk = new Limit(8, 1, 64, 250);
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public long getRetryAfterSeconds() { return retryAfterSeconds; }
+    public void setRetryAfterSeconds(long retryAfterSeconds) { this.retryAfterSeconds = retryAfterSeconds; }
+
+    public double getReadPressureThreshold() { return readPressureThreshold; }
+    public void setReadPressureThreshold(double readPressureThreshold) { this.readPressureThreshold = readPressureThreshold; }
+
+    public double getBackoffRatio() { return backoffRatio; }
+    public void setBackoffRatio(double backoffRatio) { this.backoffRatio = backoffRatio; }
+
+    public Limit getRead() { return read; }
+    public void setRead(Limit read) { this.read = read; }
+
+    public Limit getWrite() { return write; }
+    public void setWrite(Limit write) { this.write = write; }
+
+    public Limit getBulk() { return bulk; }
+    public void setBulk(Limit bulk) { this.bulk = bulk; }
+
+    public Limit forRouteClass(RouteClass routeClass) {
+        return switch (routeClass) {
+            case READ -> read;
+            case WRITE -> write;
+            case BULK -> bulk;
+        };
+    }
+
+    public static class Limit {
+
+        private int initial;
+        private int min;
+        private int max;
+        private long targetLatencyMillis;
+
+        public Limit() {}
+
+        public Limit(int initial, int min, int max, long targetLatencyMillis) {
+            this.initial = initial;
+            this.min = min;
+            this.max = max;
+            this.targetLatencyMillis = targetLatencyMillis;
+        }
+
+        public int getInitial() { return initial; }
+        public void setInitial(int initial) { this.initial = initial; }
+
+        public int getMin() { return min; }
+        public void setMin(int min) { this.min = min; }
+
+        public int getMax() { return max; }
+        public void setMax(int max) { this.max = max; }
+
+        public long getTargetLatencyMillis() { return targetLatencyMillis; }
+        public void setTargetLatencyMillis(long targetLatencyMillis) { this.targetLatencyMillis = targetLatencyMillis; }
+    }
+}
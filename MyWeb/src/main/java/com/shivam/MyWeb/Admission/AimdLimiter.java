@@ -0,0 +1,88 @@
+package com.shivam.MyWeb.Admission;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Concurrency limiter whose limit follows observed latency (additive increase, multiplicative decrease).
+ *
+ * A request that finishes under the target latency grows the limit by 1/limit, so the limit rises by
+ * roughly one per window of requests. A request slower than the target cuts the limit by the backoff ratio,
+ * but only if it started after the previous cut: requests already in flight when the limit was cut saw the
+ * same overload, so one burst of slow requests backs off once per round trip rather than once per request.
+ */
+public class AimdLimiter {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long targetLatencyNanos;
+    private final double backoffRatio;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile double limit;
+    private boolean decreased;
+    private long lastDecreaseNanos;
+
+    public AimdLimiter(int initialLimit, int minLimit, int maxLimit, long targetLatencyNanos, double backoffRatio) {
+        if (minLimit < 1 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("Limits must satisfy 1 <= min <= max");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.targetLatencyNanos = targetLatencyNanos;
+        this.backoffRatio = backoffRatio;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+
+    /**
+     * Takes a slot if one is free. Never blocks; callers shed the request when this returns false.
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= getLimit()) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Gives the slot back and feeds the request latency into the limit.
+     */
+    public void release(long latencyNanos) {
+        release(latencyNanos, System.nanoTime());
+    }
+
+    void release(long latencyNanos, long nowNanos) {
+        int inFlightBefore = inFlight.getAndDecrement();
+        synchronized (this) {
+            if (latencyNanos > targetLatencyNanos) {
+                if (!decreased || nowNanos - latencyNanos - lastDecreaseNanos >= 0) {
+                    limit = Math.max(minLimit, limit * backoffRatio);
+                    decreased = true;
+                    lastDecreaseNanos = nowNanos;
+                }
+            } else if (inFlightBefore * 2 >= limit) {
+                // Only probe upwards while the current limit is actually being used
+                limit = Math.min(maxLimit, limit + 1.0 / limit);
+            }
+        }
+    }
+
+    /**
+     * True when in-flight work has reached the given fraction of the limit.
+     */
+    public boolean isUnderPressure(double threshold) {
+        return inFlight.get() >= getLimit() * threshold;
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
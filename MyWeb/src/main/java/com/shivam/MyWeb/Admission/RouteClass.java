@@ -0,0 +1,23 @@
+package com.shivam.MyWeb.Admission;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Groups the /users routes by cost so each group gets its own concurrency limit.
+ */
+public enum RouteClass {
+
+    READ,
+    WRITE,
+    BULK;
+
+    public static RouteClass of(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if ("GET".equals(request.getMethod())) {
+            // Listing every user and multi-get both walk the whole store, and an export moves the whole
+            // file, so they count as bulk work
+            return "/users".equals(path) || "/users/".equals(path) || "/users/export".equals(path) ? BULK : READ;
+        }
+        return "/users/lookup".equals(path) ? BULK : WRITE;
+    }
+}
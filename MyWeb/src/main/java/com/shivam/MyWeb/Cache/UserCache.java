@@ -0,0 +1,137 @@
+package com.shivam.MyWeb.Cache;
+
+import com.shivam.MyWeb.Model.User;
+import com.shivam.MyWeb.Repository.UserRepository;
+
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Read-through cache of users in front of the repository.
+ *
+ * Backed by Caffeine, which evicts by W-TinyLFU once the weight bound is reached. Concurrent misses on
+ * one id share a single load. Writers must call {@link #invalidate(int)} after changing the repository.
+ * When disabled every call goes straight to the repository.
+ *
+ * Bulk misses are read from the repository in one call outside the cache, so an invalidation can land
+ * while they are in flight. Each invalidation bumps a version striped by id; a bulk-loaded user is only
+ * cached if its stripe version is unchanged, checked atomically with the insert.
+ */
+public class UserCache {
+
+    // Fixed per-entry overhead plus two bytes per character of name and email
+    private static final int ENTRY_OVERHEAD = 64;
+
+    private static final int VERSION_STRIPES = 1024;
+
+    private final UserRepository userRepository;
+    private final LoadingCache<Integer, User> cache;
+    private final AtomicLongArray versions = new AtomicLongArray(VERSION_STRIPES);
+
+    public UserCache(UserRepository userRepository, UserCacheProperties properties, MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        if (!properties.isEnabled()) {
+            this.cache = null;
+            return;
+        }
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(properties.getMaximumWeight())
+                .weigher((Integer id, User user) -> weigh(user))
+                .expireAfterWrite(properties.getExpireAfterWrite())
+                .refreshAfterWrite(properties.getRefreshAfterWrite())
+                .recordStats()
+                .build(new UserLoader());
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "users");
+    }
+
+    public User get(int userId) {
+        return cache == null ? userRepository.findById(userId) : cache.get(userId);
+    }
+
+    /**
+     * One entry per id, in the given order, null where the id does not exist.
+     * All misses are loaded with one repository call.
+     */
+    public List<User> getAll(List<Integer> userIds) {
+        if (cache == null) {
+            return userRepository.findAllById(userIds);
+        }
+        Map<Integer, User> found = new HashMap<>(cache.getAllPresent(userIds));
+        Set<Integer> missing = new LinkedHashSet<>(userIds);
+        missing.removeAll(found.keySet());
+        List<Integer> misses = new ArrayList<>(missing);
+        if (!misses.isEmpty()) {
+            long[] seen = new long[misses.size()];
+            for (int i = 0; i < seen.length; i++) {
+                seen[i] = versions.get(stripe(misses.get(i)));
+            }
+            List<User> loaded = userRepository.findAllById(misses);
+            for (int i = 0; i < seen.length; i++) {
+                User user = loaded.get(i);
+                if (user == null) {
+                    continue;
+                }
+                long version = seen[i];
+                // Skipped if the id was invalidated since the read; the caller still gets what it read
+                cache.asMap().compute(user.getId(), (id, current) -> current != null ? current
+                        : versions.get(stripe(id)) == version ? user : null);
+                found.put(user.getId(), user);
+            }
+        }
+        List<User> result = new ArrayList<>(userIds.size());
+        for (Integer userId : userIds) {
+            result.add(found.get(userId));
+        }
+        return result;
+    }
+
+    public void invalidate(int userId) {
+        if (cache != null) {
+            cache.asMap().compute(userId, (id, current) -> {
+                versions.incrementAndGet(stripe(id));
+                return null;
+            });
+        }
+    }
+
+    public void invalidateAll(List<User> users) {
+        for (User user : users) {
+            invalidate(user.getId());
+        }
+    }
+
+    // Exposed for tests; null when the cache is disabled
+    LoadingCache<Integer, User> getCache() {
+        return cache;
+    }
+
+    private static int stripe(int userId) {
+        return Math.floorMod(userId, VERSION_STRIPES);
+    }
+
+    private static int weigh(User user) {
+        int chars = (user.getName() == null ? 0 : user.getName().length())
+                + (user.getEmail() == null ? 0 : user.getEmail().length());
+        return ENTRY_OVERHEAD + 2 * chars;
+    }
+
+    private class UserLoader implements CacheLoader<Integer, User> {
+
+        @Override
+        public User load(Integer userId) {
+            return userRepository.findById(userId);
+        }
+
+    }
+}
@@ -0,0 +1,19 @@
+package com.shivam.MyWeb.Cache;
+
+import com.shivam.MyWeb.Repository.UserRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(UserCacheProperties.class)
+public class UserCacheConfig {
+
+    @Bean
+    public UserCache userCache(UserRepository userRepository, UserCacheProperties properties,
+                               MeterRegistry meterRegistry) {
+        return new UserCache(userRepository, properties, meterRegistry);
+    }
+}
@@ -0,0 +1,35 @@
+package com.shivam.MyWeb.Cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for the user read-through cache (prefix {@code users.cache}).
+ */
+@ConfigurationProperties(prefix = "users.cache")
+public class UserCacheProperties {
+
+    // Off by default: the in-memory store is already as fast as the cache
+    private boolean enabled = false;
+
+    // Upper bound on the summed weight of cached users, roughly in bytes
+    private long maximumWeight = 16_000_000;
+
+    private Duration expireAfterWrite = Duration.ofMinutes(10);
+
+    // Entries older than this are reloaded in the background on their next read
+    private Duration refreshAfterWrite = Duration.ofMinutes(1);
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public long getMaximumWeight() { return maximumWeight; }
+    public void setMaximumWeight(long maximumWeight) { this.maximumWeight = maximumWeight; }
+
+    public Duration getExpireAfterWrite() { return expireAfterWrite; }
+    public void setExpireAfterWrite(Duration expireAfterWrite) { this.expireAfterWrite = expireAfterWrite; }
+
+    public Duration getRefreshAfterWrite() { return refreshAfterWrite; }
+    public void setRefreshAfterWrite(Duration refreshAfterWrite) { this.refreshAfterWrite = refreshAfterWrite; }
+}
@@ -0,0 +1,28 @@
+package com.shivam.MyWeb.Controller;
+
+import com.shivam.MyWeb.Timing.SlowRequest;
+import com.shivam.MyWeb.Timing.SlowRequestRecorder;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@ConditionalOnProperty(prefix = "users.timing", name = "enabled", matchIfMissing = true)
+public class DiagnosticsController {
+
+    @Autowired
+    private SlowRequestRecorder slowRequestRecorder;
+
+    /**
+     * The slowest of the sampled /users requests still held in the ring buffer, with their phase breakdown.
+     */
+    @GetMapping("/diagnostics/slow-requests")
+    public List<SlowRequest> getSlowRequests(@RequestParam(defaultValue = "20") int limit){
+        return slowRequestRecorder.slowest(Math.max(0, limit));
+    }
+}
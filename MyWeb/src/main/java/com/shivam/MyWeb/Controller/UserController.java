@@ -2,22 +2,33 @@ package com.shivam.MyWeb.Controller;
 
 import com.shivam.MyWeb.Service.UserService;
 import com.shivam.MyWeb.Model.User;
+import com.shivam.MyWeb.Model.UserLookupResult;
 
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.net.URI;
+import java.util.ArrayList;
 import java.util.List;
 
 @RestController
 public class UserController {
 
+    private static final int MAX_LOOKUP_IDS = 1000;
+    private static final int MAX_PAGE_SIZE = 1000;
+
     @Autowired
     private UserService userService;
 
@@ -26,14 +37,57 @@ public class UserController {
        return userService.getAllUsers();
     }
 
+    @GetMapping(value = "/users", params = "page")
+    public List<User> getUsersPage(@RequestParam int page, @RequestParam(defaultValue = "50") int size){
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "page must be >= 0 and size between 1 and " + MAX_PAGE_SIZE);
+        }
+        if ((long) page * size > Integer.MAX_VALUE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "page * size must not exceed " + Integer.MAX_VALUE);
+        }
+        return userService.getUsersPage(page, size);
+    }
+
+    @GetMapping(value = "/users", params = "ids")
+    public List<UserLookupResult> getUsersByIds(@RequestParam List<Integer> ids){
+        return lookupUsers(ids);
+    }
+
+    @PostMapping("/users/lookup")
+    public List<UserLookupResult> lookupUsers(@RequestBody List<Integer> ids){
+        if (ids.size() > MAX_LOOKUP_IDS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "At most " + MAX_LOOKUP_IDS + " ids per lookup");
+        }
+        if (ids.contains(null)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Ids must not be null");
+        }
+        List<User> users = userService.getUsers(ids);
+        List<UserLookupResult> results = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            results.add(new UserLookupResult(ids.get(i), users.get(i)));
+        }
+        return results;
+    }
+
     @GetMapping("/users/{id}")
     public User getUserById(@PathVariable int id){
         return userService.getUser(id);
     }
 
     @PostMapping("/users")
-    public void addUser(@RequestBody User user){
-        userService.addUser(user);
+    public ResponseEntity<User> addUser(@RequestBody User user){
+        // Id 0 (or no id in the body) asks the server to allocate one
+        User stored = user;
+        if (user.getId() == 0) {
+            stored = userService.createUser(user);
+        } else {
+            userService.addUser(user);
+        }
+        URI location = ServletUriComponentsBuilder.fromCurrentRequest()
+                .path("/{id}")
+                .buildAndExpand(stored.getId())
+                .toUri();
+        return ResponseEntity.created(location).body(stored);
     }
 
     @PutMapping("/users")
@@ -0,0 +1,110 @@
+package com.shivam.MyWeb.Controller;
+
+import com.shivam.MyWeb.Export.UserExport;
+import com.shivam.MyWeb.Export.UserExporter;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.List;
+
+@RestController
+@ConditionalOnProperty(prefix = "users.export", name = "enabled", matchIfMissing = true)
+public class UserExportController {
+
+    // Tomcat sends the file itself (sendfile) when these request attributes are set and no body is written
+    private static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    @Autowired
+    private UserExporter userExporter;
+
+    /**
+     * Downloads every user as one pre-built file (NDJSON or CSV, see users.export.format).
+     * Supports a single byte Range, with If-Range on the ETag so a resumed download never mixes two
+     * versions of the file. Under Tomcat the file is handed to sendfile and never passes through the heap.
+     *
+     * With sendfile Tomcat sends the file after this method and the filter chain have returned, so the
+     * bulk admission permit only covers preparing the download, not the transfer itself. Transfers are
+     * bounded by Tomcat's connection limit rather than by admission control.
+     */
+    @GetMapping("/users/export")
+    public void exportUsers(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        UserExport export = userExporter.current();
+        if (export == null) {
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            return;
+        }
+        if (new ServletWebRequest(request, response).checkNotModified(export.getEtag())) {
+            return;
+        }
+        response.setContentType(export.getFormat().getContentType());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"users." + export.getFormat().getExtension() + "\"");
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+        long length = export.getLength();
+        long start = 0;
+        long end = length - 1;
+        String range = request.getHeader(HttpHeaders.RANGE);
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (range != null && (ifRange == null || ifRange.equals(export.getEtag()))) {
+            try {
+                List<HttpRange> ranges = HttpRange.parseRanges(range);
+                // Several ranges would need a multipart body; the whole file is the allowed fallback
+                if (ranges.size() == 1) {
+                    start = ranges.get(0).getRangeStart(length);
+                    end = ranges.get(0).getRangeEnd(length);
+                    if (start >= length || start > end) {
+                        throw new IllegalArgumentException("Range starts past the end of the export");
+                    }
+                    response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+                }
+            } catch (IllegalArgumentException e) {
+                response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                return;
+            }
+        }
+        response.setContentLengthLong(end - start + 1);
+        if (end < start) {
+            return;
+        }
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED))) {
+            request.setAttribute(SENDFILE_FILENAME, export.getFile().toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+            return;
+        }
+        // Containers without sendfile: the servlet stream is not a file descriptor, so transferTo copies
+        // the file through a heap buffer in chunks
+        try (FileChannel file = FileChannel.open(export.getFile())) {
+            WritableByteChannel target = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            while (position <= end) {
+                long sent = file.transferTo(position, end + 1 - position, target);
+                if (sent <= 0) {
+                    break;
+                }
+                position += sent;
+            }
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.shivam.MyWeb.Export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shivam.MyWeb.Repository.UserRepository;
+import com.shivam.MyWeb.Service.UserChangeLog;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+
+@Configuration
+@EnableConfigurationProperties(ExportProperties.class)
+public class ExportConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "users.export", name = "enabled", matchIfMissing = true)
+    public UserExporter userExporter(UserRepository userRepository, UserChangeLog changeLog, ObjectMapper objectMapper,
+                                     ExportProperties properties) throws IOException {
+        // Same JSON settings as the API responses
+        return new UserExporter(userRepository, changeLog, objectMapper.getFactory(), properties);
+    }
+}
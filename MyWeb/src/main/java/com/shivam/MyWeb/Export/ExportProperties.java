@@ -0,0 +1,53 @@
+package com.shivam.MyWeb.Export;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for the pre-built user export served at GET /users/export (prefix {@code users.export}).
+ */
+@ConfigurationProperties(prefix = "users.export")
+public class ExportProperties {
+
+    public enum Format {
+        // One JSON object per line
+        NDJSON("ndjson", "application/x-ndjson"),
+        // RFC 4180 with a header line
+        CSV("csv", "text/csv");
+
+        private final String extension;
+        private final String contentType;
+
+        Format(String extension, String contentType) {
+            this.extension = extension;
+            this.contentType = contentType;
+        }
+
+        public String getExtension() { return extension; }
+
+        public String getContentType() { return contentType; }
+    }
+
+    private boolean enabled = true;
+
+    private Format format = Format.NDJSON;
+
+    // How often the store version is checked; the file is only rebuilt when it changed
+    private Duration refreshInterval = Duration.ofMinutes(1);
+
+    // Where export files are written; they are deleted on shutdown
+    private String directory = System.getProperty("java.io.tmpdir");
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public Format getFormat() { return format; }
+    public void setFormat(Format format) { this.format = format; }
+
+    public Duration getRefreshInterval() { return refreshInterval; }
+    public void setRefreshInterval(Duration refreshInterval) { this.refreshInterval = refreshInterval; }
+
+    public String getDirectory() { return directory; }
+    public void setDirectory(String directory) { this.directory = directory; }
+}
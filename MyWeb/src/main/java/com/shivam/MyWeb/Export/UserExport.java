@@ -0,0 +1,36 @@
+package com.shivam.MyWeb.Export;
+
+import java.nio.file.Path;
+
+/**
+ * One finished export file. The file is never modified; a newer store version gets a new file.
+ */
+public class UserExport {
+
+    private final Path file;
+    private final long length;
+    private final long version;
+    private final String etag;
+    private final ExportProperties.Format format;
+
+    // All-argument constructor
+    public UserExport(Path file, long length, long version, String etag, ExportProperties.Format format) {
+        this.file = file;
+        this.length = length;
+        this.version = version;
+        this.etag = etag;
+        this.format = format;
+    }
+
+    // Getters
+    public Path getFile() { return file; }
+
+    public long getLength() { return length; }
+
+    // Store version (UserChangeLog) the file reflects
+    public long getVersion() { return version; }
+
+    public String getEtag() { return etag; }
+
+    public ExportProperties.Format getFormat() { return format; }
+}
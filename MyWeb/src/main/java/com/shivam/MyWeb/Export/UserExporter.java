@@ -0,0 +1,326 @@
+package com.shivam.MyWeb.Export;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.shivam.MyWeb.Model.User;
+import com.shivam.MyWeb.Repository.UserRepository;
+import com.shivam.MyWeb.Service.UserChangeLog;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps a pre-built export file of every user, so downloads only copy bytes.
+ *
+ * A background thread checks the store version every refreshInterval. When it has moved, the exporter
+ * writes a new file. The old file is already sorted by id, so it is streamed into the new one with only
+ * the changed ids written again; unchanged users are copied as raw bytes and never touch the store or
+ * Jackson. The first export, and any export after more changes than UserChangeLog tracks, pages through
+ * the whole store by id, each page starting after the last id written, so a concurrent insert or delete
+ * cannot shift a user out of the scan. Each line starts with the user id, so merging only has to parse
+ * that prefix.
+ *
+ * Finished files are never modified. The previous file is kept until the next one replaces it, so a
+ * download that picked it up just before a refresh can still open it.
+ */
+public class UserExporter implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(UserExporter.class);
+
+    private static final int LOOKUP_BATCH = 1000;
+    private static final byte[] CSV_HEADER = "id,name,email\n".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] NDJSON_ID_PREFIX = "{\"id\":".getBytes(StandardCharsets.US_ASCII);
+
+    private final UserRepository userRepository;
+    private final UserChangeLog changeLog;
+    private final JsonFactory jsonFactory;
+    private final ExportProperties.Format format;
+    private final Path directory;
+    private final ScheduledExecutorService refresher;
+
+    // Distinguishes ETags across restarts, since store versions start again from zero
+    private final String instanceTag = Long.toHexString(System.currentTimeMillis());
+
+    private volatile UserExport current;
+    private UserExport previous;
+    private boolean fullRebuildNeeded = true;
+
+    public UserExporter(UserRepository userRepository, UserChangeLog changeLog, JsonFactory jsonFactory,
+                        ExportProperties properties) throws IOException {
+        this.userRepository = userRepository;
+        this.changeLog = changeLog;
+        this.jsonFactory = jsonFactory;
+        this.format = properties.getFormat();
+        this.directory = Files.createDirectories(Path.of(properties.getDirectory()));
+        this.refresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "user-export");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long refreshMillis = properties.getRefreshInterval().toMillis();
+        refresher.scheduleWithFixedDelay(this::refreshQuietly, 0, refreshMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * The latest finished export, or null while the first one is still being built.
+     */
+    public UserExport current() {
+        return current;
+    }
+
+    /**
+     * Rebuilds the export if the store changed since the last one, and returns the latest export.
+     */
+    public synchronized UserExport refresh() throws IOException {
+        long version = changeLog.getVersion();
+        if (current != null && current.getVersion() == version) {
+            return current;
+        }
+        List<Integer> changed = changeLog.drain();
+        boolean full = fullRebuildNeeded || changed == null;
+        Path file = Files.createTempFile(directory, "users-export-", "." + format.getExtension());
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file), 64 * 1024)) {
+            ExportWriter writer = new ExportWriter(out);
+            if (full) {
+                writer.writeAll();
+            } else {
+                writer.merge(current.getFile(), changed);
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            // The drained ids are not in any export yet
+            fullRebuildNeeded = true;
+            throw e;
+        }
+        fullRebuildNeeded = false;
+
+        UserExport replaced = previous;
+        previous = current;
+        current = new UserExport(file, Files.size(file), version, "\"" + instanceTag + "-" + version + "\"", format);
+        if (replaced != null) {
+            Files.deleteIfExists(replaced.getFile());
+        }
+        return current;
+    }
+
+    private void refreshQuietly() {
+        try {
+            refresh();
+        } catch (IOException | RuntimeException e) {
+            log.warn("User export refresh failed, retrying with a full rebuild", e);
+        }
+    }
+
+    /**
+     * Stops the refresher and deletes the export files.
+     */
+    @Override
+    public synchronized void destroy() throws IOException {
+        refresher.shutdownNow();
+        for (UserExport export : new UserExport[] {previous, current}) {
+            if (export != null) {
+                Files.deleteIfExists(export.getFile());
+            }
+        }
+    }
+
+    /**
+     * Writes one export file in the configured format.
+     */
+    private final class ExportWriter {
+
+        private final OutputStream out;
+        private final JsonGenerator json;
+        private final StringBuilder csvLine = new StringBuilder(128);
+
+        ExportWriter(OutputStream out) throws IOException {
+            this.out = out;
+            this.json = jsonFactory.createGenerator(out);
+            // Lines are separated by hand, and flushing must stop at the buffered stream
+            json.setRootValueSeparator(null);
+            json.disable(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM);
+            json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        }
+
+        void writeAll() throws IOException {
+            writeHeader();
+            int lastId = Integer.MIN_VALUE;
+            while (true) {
+                List<User> page = userRepository.findPageAfter(lastId, LOOKUP_BATCH);
+                for (User user : page) {
+                    write(user);
+                }
+                if (page.size() < LOOKUP_BATCH) {
+                    return;
+                }
+                lastId = page.get(page.size() - 1).getId();
+            }
+        }
+
+        /**
+         * Copies the previous export, replacing the lines of changed ids and adding new ones in id order.
+         */
+        void merge(Path previousFile, List<Integer> changedIds) throws IOException {
+            int[] ids = changedIds.stream().mapToInt(Integer::intValue).sorted().toArray();
+            User[] users = new User[ids.length];
+            for (int from = 0; from < ids.length; from += LOOKUP_BATCH) {
+                int to = Math.min(ids.length, from + LOOKUP_BATCH);
+                List<User> loaded = userRepository.findAllById(
+                        Arrays.stream(ids, from, to).boxed().toList());
+                for (int i = from; i < to; i++) {
+                    users[i] = loaded.get(i - from);
+                }
+            }
+
+            writeHeader();
+            int next = 0;
+            try (InputStream in = Files.newInputStream(previousFile)) {
+                LineReader lines = new LineReader(in);
+                if (format == ExportProperties.Format.CSV) {
+                    lines.next();
+                }
+                while (lines.next()) {
+                    int lineId = lines.parseId();
+                    while (next < ids.length && ids[next] < lineId) {
+                        writeIfPresent(users[next++]);
+                    }
+                    if (next < ids.length && ids[next] == lineId) {
+                        // Changed or deleted since the previous export
+                        writeIfPresent(users[next++]);
+                    } else {
+                        lines.copyTo(out);
+                    }
+                }
+            }
+            while (next < ids.length) {
+                writeIfPresent(users[next++]);
+            }
+        }
+
+        private void writeHeader() throws IOException {
+            if (format == ExportProperties.Format.CSV) {
+                out.write(CSV_HEADER);
+            }
+        }
+
+        private void writeIfPresent(User user) throws IOException {
+            if (user != null) {
+                write(user);
+            }
+        }
+
+        private void write(User user) throws IOException {
+            if (format == ExportProperties.Format.NDJSON) {
+                json.writeStartObject();
+                json.writeNumberField("id", user.getId());
+                json.writeStringField("name", user.getName());
+                json.writeStringField("email", user.getEmail());
+                json.writeEndObject();
+                json.flush();
+            } else {
+                csvLine.setLength(0);
+                csvLine.append(user.getId()).append(',');
+                appendCsvField(user.getName());
+                csvLine.append(',');
+                appendCsvField(user.getEmail());
+                out.write(csvLine.toString().getBytes(StandardCharsets.UTF_8));
+            }
+            out.write('\n');
+        }
+
+        private void appendCsvField(String value) {
+            if (value == null) {
+                return;
+            }
+            boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                    || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+            if (!quote) {
+                csvLine.append(value);
+                return;
+            }
+            csvLine.append('"');
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c == '"') {
+                    csvLine.append('"');
+                }
+                csvLine.append(c);
+            }
+            csvLine.append('"');
+        }
+    }
+
+    /**
+     * Reads an export file line by line as raw bytes.
+     * Lines end at '\n'; a quoted CSV field can hold a newline, so quotes are tracked.
+     */
+    private final class LineReader {
+
+        private final InputStream in;
+        private final byte[] buffer = new byte[64 * 1024];
+        private int position;
+        private int limit;
+        private byte[] line = new byte[256];
+        private int length;
+
+        LineReader(InputStream in) {
+            this.in = in;
+        }
+
+        boolean next() throws IOException {
+            length = 0;
+            boolean quoted = false;
+            while (true) {
+                if (position == limit) {
+                    limit = in.read(buffer);
+                    position = 0;
+                    if (limit <= 0) {
+                        limit = 0;
+                        return length > 0;
+                    }
+                }
+                byte b = buffer[position++];
+                if (length == line.length) {
+                    line = Arrays.copyOf(line, line.length * 2);
+                }
+                line[length++] = b;
+                if (b == '"' && format == ExportProperties.Format.CSV) {
+                    quoted = !quoted;
+                } else if (b == '\n' && !quoted) {
+                    return true;
+                }
+            }
+        }
+
+        int parseId() {
+            int position = format == ExportProperties.Format.NDJSON ? NDJSON_ID_PREFIX.length : 0;
+            boolean negative = line[position] == '-';
+            if (negative) {
+                position++;
+            }
+            long id = 0;
+            while (position < length && line[position] >= '0' && line[position] <= '9') {
+                id = id * 10 + (line[position++] - '0');
+            }
+            return (int) (negative ? -id : id);
+        }
+
+        void copyTo(OutputStream out) throws IOException {
+            out.write(line, 0, length);
+        }
+    }
+}
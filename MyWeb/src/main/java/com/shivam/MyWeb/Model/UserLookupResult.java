@@ -0,0 +1,28 @@
+package com.shivam.MyWeb.Model;
+
+public class UserLookupResult {
+
+    private int id;
+    private boolean found;
+    private User user;
+
+    // No-argument constructor
+    public UserLookupResult() {}
+
+    // All-argument constructor
+    public UserLookupResult(int id, User user) {
+        this.id = id;
+        this.found = user != null;
+        this.user = user;
+    }
+
+    // Getters and setters
+    public int getId() { return id; }
+    public void setId(int id) { this.id = id; }
+
+    public boolean isFound() { return found; }
+    public void setFound(boolean found) { this.found = found; }
+
+    public User getUser() { return user; }
+    public void setUser(User user) { this.user = user; }
+}
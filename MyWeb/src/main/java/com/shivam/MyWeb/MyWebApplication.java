@@ -1,9 +1,16 @@
 package com.shivam.MyWeb;
 
+import com.shivam.MyWeb.Model.User;
+import com.shivam.MyWeb.Model.UserLookupResult;
+import com.shivam.MyWeb.Timing.SlowRequest;
+
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 
 @SpringBootApplication
+// Jackson binds these reflectively; a native image needs the hints up front
+@RegisterReflectionForBinding({User.class, UserLookupResult.class, SlowRequest.class})
 public class MyWebApplication {
 	public static void main(String[] args) {
 
@@ -0,0 +1,364 @@
+package com.shivam.MyWeb.Repository;
+
+import com.shivam.MyWeb.Model.User;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Cold tier of TieredUserRepository: users serialized into a memory-mapped file, found through an on-heap
+ * id to offset index.
+ *
+ * The index is a pair of sorted primitive arrays (12 bytes per user) plus a small sorted map of recently
+ * added ids. Once that map grows past an eighth of the index it is merged in. Removing a user only marks
+ * its offset as dead; dead records are dropped from the index on the next merge. The file is rewritten
+ * once dead bytes outweigh live ones. Records never span two mapped chunks. All methods are synchronized;
+ * a lookup costs a binary search and a read from the page cache.
+ *
+ * Record layout: int id, then name and email as an int byte length (-1 for null) followed by UTF-8 bytes.
+ */
+class ColdUserSegment implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(ColdUserSegment.class);
+
+    private static final long DEAD = -1;
+    private static final int MIN_MERGE_SIZE = 4096;
+
+    private final Path directory;
+    private final long chunkSize;
+
+    private Path file;
+    private FileChannel channel;
+    private final List<MappedByteBuffer> chunks = new ArrayList<>();
+    private long writePosition;
+
+    // Sorted ids and their record offsets; offset DEAD marks a removed entry
+    private int[] ids = new int[0];
+    private long[] offsets = new long[0];
+    private int indexSize;
+
+    // Ids added since the last merge
+    private final TreeMap<Integer, Long> recent = new TreeMap<>();
+
+    // Entries of the sorted arrays marked DEAD since the last merge
+    private int deadSlots;
+
+    // Replaced files whose delete failed; retried on the next maintain()
+    private final List<Path> staleFiles = new ArrayList<>();
+
+    private int liveCount;
+    private long liveBytes;
+    private long deadBytes;
+
+    ColdUserSegment(Path directory, long chunkSize) {
+        this.directory = directory;
+        this.chunkSize = chunkSize;
+        openNextFile();
+    }
+
+    synchronized void put(User user) {
+        remove(user.getId());
+        long offset = append(user);
+        recent.put(user.getId(), offset);
+        liveCount++;
+        liveBytes += recordLength(offset);
+        if (recent.size() > Math.max(MIN_MERGE_SIZE, indexSize / 8)) {
+            merge();
+        }
+    }
+
+    synchronized boolean contains(int id) {
+        return offsetOf(id) != DEAD;
+    }
+
+    // Reads the user without removing it; null if the id is not in this tier
+    synchronized User get(int id) {
+        long offset = offsetOf(id);
+        return offset == DEAD ? null : read(offset);
+    }
+
+    // Reads and removes the user; null if the id is not in this tier
+    synchronized User take(int id) {
+        long offset = offsetOf(id);
+        if (offset == DEAD) {
+            return null;
+        }
+        User user = read(offset);
+        remove(id);
+        return user;
+    }
+
+    synchronized boolean remove(int id) {
+        long offset;
+        Long recentOffset = recent.remove(id);
+        if (recentOffset != null) {
+            offset = recentOffset;
+        } else {
+            int slot = Arrays.binarySearch(ids, 0, indexSize, id);
+            if (slot < 0 || offsets[slot] == DEAD) {
+                return false;
+            }
+            offset = offsets[slot];
+            offsets[slot] = DEAD;
+            deadSlots++;
+        }
+        int length = recordLength(offset);
+        liveCount--;
+        liveBytes -= length;
+        deadBytes += length;
+        return true;
+    }
+
+    /**
+     * Copies up to buffer.length ids from fromId upwards into buffer, in ascending order.
+     * Returns how many were copied.
+     */
+    synchronized int idsFrom(int fromId, int[] buffer) {
+        int slot = Arrays.binarySearch(ids, 0, indexSize, fromId);
+        slot = slot < 0 ? -slot - 1 : slot;
+        Iterator<Integer> recentIds = recent.tailMap(fromId, true).keySet().iterator();
+        Integer nextRecent = recentIds.hasNext() ? recentIds.next() : null;
+        int count = 0;
+        while (count < buffer.length) {
+            while (slot < indexSize && offsets[slot] == DEAD) {
+                slot++;
+            }
+            boolean indexLeft = slot < indexSize;
+            if (!indexLeft && nextRecent == null) {
+                break;
+            }
+            if (nextRecent == null || (indexLeft && ids[slot] < nextRecent)) {
+                buffer[count++] = ids[slot++];
+            } else {
+                buffer[count++] = nextRecent;
+                nextRecent = recentIds.hasNext() ? recentIds.next() : null;
+            }
+        }
+        return count;
+    }
+
+    // Highest live id in this tier, or 0 if it is empty
+    synchronized int maxId() {
+        int max = recent.isEmpty() ? 0 : recent.lastKey();
+        for (int slot = indexSize - 1; slot >= 0; slot--) {
+            if (offsets[slot] != DEAD) {
+                return Math.max(max, ids[slot]);
+            }
+        }
+        return max;
+    }
+
+    synchronized int size() {
+        return liveCount;
+    }
+
+    synchronized long getFileBytes() {
+        return writePosition;
+    }
+
+    // Heap held by the index arrays; the recent map is bounded by an eighth of the index
+    synchronized long getIndexBytes() {
+        return (long) ids.length * Integer.BYTES + (long) offsets.length * Long.BYTES;
+    }
+
+    /**
+     * Merges if anything was added or removed since the last merge, and retries deleting replaced files.
+     */
+    synchronized void maintain() {
+        if (!recent.isEmpty() || deadSlots > 0) {
+            merge();
+        }
+        staleFiles.removeIf(this::delete);
+    }
+
+    /**
+     * Folds recently added ids into the sorted arrays, dropping dead entries, and compacts the file once
+     * it is mostly dead records.
+     */
+    private void merge() {
+        int merged = 0;
+        int[] mergedIds = new int[liveCount];
+        long[] mergedOffsets = new long[liveCount];
+        Iterator<Map.Entry<Integer, Long>> recentEntries = recent.entrySet().iterator();
+        Map.Entry<Integer, Long> nextRecent = recentEntries.hasNext() ? recentEntries.next() : null;
+        for (int slot = 0; slot < indexSize; slot++) {
+            if (offsets[slot] == DEAD) {
+                continue;
+            }
+            while (nextRecent != null && nextRecent.getKey() < ids[slot]) {
+                mergedIds[merged] = nextRecent.getKey();
+                mergedOffsets[merged++] = nextRecent.getValue();
+                nextRecent = recentEntries.hasNext() ? recentEntries.next() : null;
+            }
+            mergedIds[merged] = ids[slot];
+            mergedOffsets[merged++] = offsets[slot];
+        }
+        while (nextRecent != null) {
+            mergedIds[merged] = nextRecent.getKey();
+            mergedOffsets[merged++] = nextRecent.getValue();
+            nextRecent = recentEntries.hasNext() ? recentEntries.next() : null;
+        }
+        ids = mergedIds;
+        offsets = mergedOffsets;
+        indexSize = merged;
+        deadSlots = 0;
+        recent.clear();
+
+        if (deadBytes > liveBytes && deadBytes > chunkSize) {
+            compact();
+        }
+    }
+
+    // Copies the live records into a fresh file in id order and drops the old one
+    private void compact() {
+        List<MappedByteBuffer> oldChunks = new ArrayList<>(chunks);
+        FileChannel oldChannel = channel;
+        Path oldFile = file;
+        openNextFile();
+        for (int slot = 0; slot < indexSize; slot++) {
+            long oldOffset = offsets[slot];
+            User user = read(oldChunks.get((int) (oldOffset / chunkSize)), (int) (oldOffset % chunkSize));
+            offsets[slot] = append(user);
+        }
+        deadBytes = 0;
+        close(oldChannel, oldFile);
+    }
+
+    private long offsetOf(int id) {
+        Long recentOffset = recent.get(id);
+        if (recentOffset != null) {
+            return recentOffset;
+        }
+        int slot = Arrays.binarySearch(ids, 0, indexSize, id);
+        return slot < 0 ? DEAD : offsets[slot];
+    }
+
+    private long append(User user) {
+        byte[] name = user.getName() == null ? null : user.getName().getBytes(StandardCharsets.UTF_8);
+        byte[] email = user.getEmail() == null ? null : user.getEmail().getBytes(StandardCharsets.UTF_8);
+        int length = Integer.BYTES * 3 + (name == null ? 0 : name.length) + (email == null ? 0 : email.length);
+        if (length > chunkSize) {
+            throw new IllegalArgumentException("User " + user.getId() + " does not fit in a segment chunk");
+        }
+        long chunkStart = writePosition - writePosition % chunkSize;
+        if (writePosition + length > chunkStart + chunkSize) {
+            writePosition = chunkStart + chunkSize;
+        }
+        MappedByteBuffer chunk = chunkAt(writePosition);
+        int position = (int) (writePosition % chunkSize);
+        chunk.putInt(position, user.getId());
+        position = putBytes(chunk, position + Integer.BYTES, name);
+        putBytes(chunk, position, email);
+        long offset = writePosition;
+        writePosition += length;
+        return offset;
+    }
+
+    private static int putBytes(MappedByteBuffer chunk, int position, byte[] bytes) {
+        if (bytes == null) {
+            chunk.putInt(position, -1);
+            return position + Integer.BYTES;
+        }
+        chunk.putInt(position, bytes.length);
+        chunk.put(position + Integer.BYTES, bytes);
+        return position + Integer.BYTES + bytes.length;
+    }
+
+    private User read(long offset) {
+        return read(chunks.get((int) (offset / chunkSize)), (int) (offset % chunkSize));
+    }
+
+    private static User read(MappedByteBuffer chunk, int position) {
+        int id = chunk.getInt(position);
+        int nameLength = chunk.getInt(position + Integer.BYTES);
+        String name = getString(chunk, position + Integer.BYTES * 2, nameLength);
+        position += Integer.BYTES * 2 + Math.max(0, nameLength);
+        String email = getString(chunk, position + Integer.BYTES, chunk.getInt(position));
+        return new User(id, name, email);
+    }
+
+    private static String getString(MappedByteBuffer chunk, int position, int length) {
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        chunk.get(position, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private int recordLength(long offset) {
+        MappedByteBuffer chunk = chunks.get((int) (offset / chunkSize));
+        int position = (int) (offset % chunkSize);
+        int nameLength = Math.max(0, chunk.getInt(position + Integer.BYTES));
+        int emailLength = Math.max(0, chunk.getInt(position + Integer.BYTES * 2 + nameLength));
+        return Integer.BYTES * 3 + nameLength + emailLength;
+    }
+
+    private MappedByteBuffer chunkAt(long position) {
+        int chunkIndex = (int) (position / chunkSize);
+        while (chunks.size() <= chunkIndex) {
+            try {
+                chunks.add(channel.map(FileChannel.MapMode.READ_WRITE, chunks.size() * chunkSize, chunkSize));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not grow cold user segment " + file, e);
+            }
+        }
+        return chunks.get(chunkIndex);
+    }
+
+    private void openNextFile() {
+        try {
+            Files.createDirectories(directory);
+            file = Files.createTempFile(directory, "users-cold-", ".seg");
+            channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not create cold user segment in " + directory, e);
+        }
+        chunks.clear();
+        writePosition = 0;
+    }
+
+    // The mapped chunks of the file are released once they are garbage collected
+    private void close(FileChannel channel, Path file) {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            log.warn("Could not close cold user segment {}", file, e);
+        }
+        if (!delete(file)) {
+            staleFiles.add(file);
+        }
+    }
+
+    private boolean delete(Path file) {
+        try {
+            Files.deleteIfExists(file);
+            return true;
+        } catch (IOException e) {
+            log.warn("Could not delete cold user segment {}", file, e);
+            return false;
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        close(channel, file);
+        staleFiles.removeIf(this::delete);
+    }
+}
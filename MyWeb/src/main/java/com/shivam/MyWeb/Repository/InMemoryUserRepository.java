@@ -0,0 +1,98 @@
+package com.shivam.MyWeb.Repository;
+
+import com.shivam.MyWeb.Model.User;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+@Repository
+@ConditionalOnProperty(name = "users.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryUserRepository implements UserRepository {
+
+    // Keyed by id so duplicate ids are rejected atomically; sorted so findAll has a stable order
+    private final ConcurrentNavigableMap<Integer, User> users=new ConcurrentSkipListMap<>(Map.of(1,new User(1,"Shivam","shivam@gmail.com"),2,new User(2,"Raj","raj@gmail.com"),3,new User(3,"Rajesh","rajesh@gmail.com")));
+
+    @Override
+    public List<User> findAll() {
+        return new ArrayList<>(users.values());
+    }
+
+    @Override
+    public List<User> findPage(int offset, int limit) {
+        return users.values().stream().skip(offset).limit(limit).toList();
+    }
+
+    @Override
+    public List<User> findPageAfter(int lastId, int limit) {
+        return users.tailMap(lastId, false).values().stream().limit(limit).toList();
+    }
+
+    @Override
+    public User findById(int id) {
+        return users.get(id);
+    }
+
+    @Override
+    public List<User> findAllById(List<Integer> ids) {
+        List<User> result = new ArrayList<>(ids.size());
+        for (Integer id : ids) {
+            result.add(users.get(id));
+        }
+        return result;
+    }
+
+    @Override
+    public boolean insert(User user) {
+        return users.putIfAbsent(user.getId(), user) == null;
+    }
+
+    @Override
+    public boolean insertAll(List<User> newUsers) {
+        for (int i = 0; i < newUsers.size(); i++) {
+            if (users.putIfAbsent(newUsers.get(i).getId(), newUsers.get(i)) != null) {
+                // Undo what this call already inserted
+                for (int j = 0; j < i; j++) {
+                    users.remove(newUsers.get(j).getId(), newUsers.get(j));
+                }
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean update(User user) {
+        return users.replace(user.getId(), user) != null;
+    }
+
+    @Override
+    public boolean delete(int id) {
+        return users.remove(id) != null;
+    }
+
+    @Override
+    public void saveAll(List<User> newUsers) {
+        for (User user : newUsers) {
+            users.put(user.getId(), user);
+        }
+    }
+
+    @Override
+    public void deleteAll(List<Integer> ids) {
+        for (Integer id : ids) {
+            users.remove(id);
+        }
+    }
+
+    @Override
+    public int findMaxId() {
+        Map.Entry<Integer, User> last = users.lastEntry();
+        return last == null ? 0 : last.getKey();
+    }
+}
@@ -0,0 +1,179 @@
+package com.shivam.MyWeb.Repository;
+
+import com.shivam.MyWeb.Model.User;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Relational backend over the pooled DataSource (embedded H2 in tests, the production database otherwise).
+ *
+ * Every statement is a fixed SQL string with bind parameters, so the driver and database can reuse the
+ * parsed statement. Only plain SQL is used: multi-id lookups use IN lists padded to a power-of-two size,
+ * so there are only a few distinct statements, and upserts are an update of the ids that exist plus an
+ * insert of the rest. Bulk loads go through JDBC batches. Paging uses LIMIT/OFFSET, which H2, PostgreSQL,
+ * MySQL/MariaDB and SQLite all accept.
+ */
+@Repository
+@ConditionalOnProperty(name = "users.store", havingValue = "jdbc")
+public class JdbcUserRepository implements UserRepository {
+
+    private static final String SELECT_USERS = "SELECT id, name, email FROM users";
+    private static final String INSERT_USER = "INSERT INTO users (id, name, email) VALUES (?, ?, ?)";
+    private static final String UPDATE_USER = "UPDATE users SET name = ?, email = ? WHERE id = ?";
+
+    // Largest IN list; lists are padded to 1, 2, 4, ... MAX_IN_SIZE placeholders
+    private static final int MAX_IN_SIZE = 128;
+
+    private static final RowMapper<User> USER_ROW_MAPPER =
+            (rs, rowNum) -> new User(rs.getInt("id"), rs.getString("name"), rs.getString("email"));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final String[] selectByIds = new String[Integer.numberOfTrailingZeros(MAX_IN_SIZE) + 1];
+
+    public JdbcUserRepository(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                              @Value("${users.jdbc.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        for (int i = 0; i < selectByIds.length; i++) {
+            selectByIds[i] = SELECT_USERS + " WHERE id IN (" + "?, ".repeat((1 << i) - 1) + "?)";
+        }
+    }
+
+    @Override
+    public List<User> findAll() {
+        return jdbcTemplate.query(SELECT_USERS + " ORDER BY id", USER_ROW_MAPPER);
+    }
+
+    @Override
+    public List<User> findPage(int offset, int limit) {
+        return jdbcTemplate.query(SELECT_USERS + " ORDER BY id LIMIT ? OFFSET ?", USER_ROW_MAPPER, limit, offset);
+    }
+
+    @Override
+    public List<User> findPageAfter(int lastId, int limit) {
+        return jdbcTemplate.query(SELECT_USERS + " WHERE id > ? ORDER BY id LIMIT ?", USER_ROW_MAPPER, lastId, limit);
+    }
+
+    @Override
+    public User findById(int id) {
+        List<User> found = jdbcTemplate.query(SELECT_USERS + " WHERE id = ?", USER_ROW_MAPPER, id);
+        return found.isEmpty() ? null : found.get(0);
+    }
+
+    @Override
+    public List<User> findAllById(List<Integer> ids) {
+        Map<Integer, User> byId = new HashMap<>();
+        for (int from = 0; from < ids.size(); from += MAX_IN_SIZE) {
+            List<Integer> chunk = ids.subList(from, Math.min(ids.size(), from + MAX_IN_SIZE));
+            // Round up to a power of two and repeat the last id, so only a few SQL strings are ever used
+            int sizeIndex = 32 - Integer.numberOfLeadingZeros(chunk.size() - 1);
+            int placeholders = 1 << sizeIndex;
+            jdbcTemplate.query(selectByIds[sizeIndex], ps -> {
+                for (int i = 0; i < placeholders; i++) {
+                    ps.setInt(i + 1, chunk.get(Math.min(i, chunk.size() - 1)));
+                }
+            }, (RowCallbackHandler) rs -> byId.put(rs.getInt("id"), USER_ROW_MAPPER.mapRow(rs, 0)));
+        }
+        List<User> result = new ArrayList<>(ids.size());
+        for (Integer id : ids) {
+            result.add(byId.get(id));
+        }
+        return result;
+    }
+
+    @Override
+    public boolean insert(User user) {
+        try {
+            jdbcTemplate.update(INSERT_USER, user.getId(), user.getName(), user.getEmail());
+            return true;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public boolean insertAll(List<User> users) {
+        return transactionTemplate.execute(status -> {
+            try {
+                jdbcTemplate.batchUpdate(INSERT_USER, users, batchSize, (ps, user) -> {
+                    ps.setInt(1, user.getId());
+                    ps.setString(2, user.getName());
+                    ps.setString(3, user.getEmail());
+                });
+                return true;
+            } catch (DuplicateKeyException e) {
+                status.setRollbackOnly();
+                return false;
+            }
+        });
+    }
+
+    @Override
+    public boolean update(User user) {
+        return jdbcTemplate.update(UPDATE_USER, user.getName(), user.getEmail(), user.getId()) > 0;
+    }
+
+    @Override
+    public boolean delete(int id) {
+        return jdbcTemplate.update("DELETE FROM users WHERE id = ?", id) > 0;
+    }
+
+    @Override
+    public void saveAll(List<User> users) {
+        transactionTemplate.executeWithoutResult(status -> {
+            // The last write to an id wins, as it would with one upsert per row
+            Map<Integer, User> latest = new LinkedHashMap<>();
+            for (User user : users) {
+                latest.put(user.getId(), user);
+            }
+            // Batch update counts are not reliable across drivers, so look up which ids exist first
+            List<User> existing = findAllById(new ArrayList<>(latest.keySet()));
+            List<User> updates = new ArrayList<>();
+            List<User> inserts = new ArrayList<>();
+            int i = 0;
+            for (User user : latest.values()) {
+                (existing.get(i++) != null ? updates : inserts).add(user);
+            }
+            jdbcTemplate.batchUpdate(UPDATE_USER, updates, batchSize, (ps, user) -> {
+                ps.setString(1, user.getName());
+                ps.setString(2, user.getEmail());
+                ps.setInt(3, user.getId());
+            });
+            jdbcTemplate.batchUpdate(INSERT_USER, inserts, batchSize, (ps, user) -> {
+                ps.setInt(1, user.getId());
+                ps.setString(2, user.getName());
+                ps.setString(3, user.getEmail());
+            });
+        });
+    }
+
+    @Override
+    public void deleteAll(List<Integer> ids) {
+        transactionTemplate.executeWithoutResult(status ->
+                jdbcTemplate.batchUpdate("DELETE FROM users WHERE id = ?", ids, batchSize,
+                        (ps, id) -> ps.setInt(1, id)));
+    }
+
+    @Override
+    public int findMaxId() {
+        Integer max = jdbcTemplate.queryForObject("SELECT MAX(id) FROM users", Integer.class);
+        return max == null ? 0 : max;
+    }
+}
@@ -0,0 +1,352 @@
+package com.shivam.MyWeb.Repository;
+
+import com.shivam.MyWeb.Model.User;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory store that keeps only recently used users on the heap.
+ *
+ * Every read or write stamps the user with the time of access. A background sweep moves users idle
+ * for longer than idleAfter into a ColdUserSegment: a memory-mapped file with a compact on-heap index.
+ * Reading a cold user by id moves it back to the hot tier. Page and full scans read cold users in place
+ * and do not promote them, so a full export does not pull the whole store back onto the heap.
+ *
+ * A user is in at most one tier. Moves between tiers and every write hold a lock striped by id, so
+ * reads of hot users take no lock at all.
+ */
+public class TieredUserRepository implements UserRepository, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(TieredUserRepository.class);
+
+    private static final int LOCK_STRIPES = 64;
+    private static final int SCAN_BATCH = 1024;
+
+    // Access stamps are refreshed at most this often, so hot reads rarely write to shared memory
+    private static final long TOUCH_GRANULARITY_MILLIS = 1000;
+
+    private final ConcurrentNavigableMap<Integer, HotUser> hot = new ConcurrentSkipListMap<>();
+    private final ColdUserSegment cold;
+    private final Object[] locks = new Object[LOCK_STRIPES];
+
+    // Moving a user between tiers holds the read side; a scan holds the write side for each chunk it reads
+    private final ReadWriteLock scanLock = new ReentrantReadWriteLock();
+    private final long idleAfterMillis;
+    private final ScheduledExecutorService sweeper;
+
+    public TieredUserRepository(TieringProperties properties) {
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new Object();
+        }
+        this.idleAfterMillis = properties.getIdleAfter().toMillis();
+        this.cold = new ColdUserSegment(Path.of(properties.getDirectory()), properties.getChunkSize().toBytes());
+        for (User user : List.of(new User(1,"Shivam","shivam@gmail.com"), new User(2,"Raj","raj@gmail.com"), new User(3,"Rajesh","rajesh@gmail.com"))) {
+            hot.put(user.getId(), new HotUser(user));
+        }
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "user-tiering-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long sweepMillis = properties.getSweepInterval().toMillis();
+        sweeper.scheduleWithFixedDelay(this::sweep, sweepMillis, sweepMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public List<User> findAll() {
+        return scan(Integer.MIN_VALUE, 0, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<User> findPage(int offset, int limit) {
+        return scan(Integer.MIN_VALUE, offset, limit);
+    }
+
+    @Override
+    public List<User> findPageAfter(int lastId, int limit) {
+        return scan((long) lastId + 1, 0, limit);
+    }
+
+    @Override
+    public User findById(int id) {
+        HotUser entry = hot.get(id);
+        if (entry != null) {
+            entry.touch();
+            return entry.user;
+        }
+        scanLock.readLock().lock();
+        try {
+            synchronized (lockFor(id)) {
+                entry = hot.get(id);
+                if (entry != null) {
+                    return entry.user;
+                }
+                User user = cold.take(id);
+                if (user != null) {
+                    hot.put(id, new HotUser(user));
+                }
+                return user;
+            }
+        } finally {
+            scanLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<User> findAllById(List<Integer> ids) {
+        List<User> result = new ArrayList<>(ids.size());
+        for (Integer id : ids) {
+            result.add(findById(id));
+        }
+        return result;
+    }
+
+    @Override
+    public boolean insert(User user) {
+        synchronized (lockFor(user.getId())) {
+            if (hot.containsKey(user.getId()) || cold.contains(user.getId())) {
+                return false;
+            }
+            hot.put(user.getId(), new HotUser(user));
+            return true;
+        }
+    }
+
+    @Override
+    public boolean insertAll(List<User> users) {
+        for (int i = 0; i < users.size(); i++) {
+            if (!insert(users.get(i))) {
+                // Undo what this call already inserted
+                for (int j = 0; j < i; j++) {
+                    int id = users.get(j).getId();
+                    synchronized (lockFor(id)) {
+                        HotUser entry = hot.get(id);
+                        if (entry != null && entry.user == users.get(j)) {
+                            hot.remove(id);
+                        } else if (entry == null) {
+                            // Already swept to the cold tier
+                            cold.remove(id);
+                        }
+                    }
+                }
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean update(User user) {
+        scanLock.readLock().lock();
+        try {
+            synchronized (lockFor(user.getId())) {
+                if (hot.replace(user.getId(), new HotUser(user)) != null) {
+                    return true;
+                }
+                if (cold.remove(user.getId())) {
+                    hot.put(user.getId(), new HotUser(user));
+                    return true;
+                }
+                return false;
+            }
+        } finally {
+            scanLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean delete(int id) {
+        synchronized (lockFor(id)) {
+            return hot.remove(id) != null || cold.remove(id);
+        }
+    }
+
+    @Override
+    public void saveAll(List<User> users) {
+        scanLock.readLock().lock();
+        try {
+            for (User user : users) {
+                synchronized (lockFor(user.getId())) {
+                    cold.remove(user.getId());
+                    hot.put(user.getId(), new HotUser(user));
+                }
+            }
+        } finally {
+            scanLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void deleteAll(List<Integer> ids) {
+        for (Integer id : ids) {
+            delete(id);
+        }
+    }
+
+    @Override
+    public int findMaxId() {
+        Map.Entry<Integer, HotUser> last = hot.lastEntry();
+        return Math.max(last == null ? 0 : last.getKey(), cold.maxId());
+    }
+
+    /**
+     * Moves every user idle for longer than idleAfter to the cold tier. Runs on the sweeper thread.
+     * Returns the number of users moved.
+     */
+    public int sweep() {
+        long idleBefore = System.currentTimeMillis() - idleAfterMillis;
+        int moved = 0;
+        try {
+            for (Map.Entry<Integer, HotUser> candidate : hot.entrySet()) {
+                if (candidate.getValue().lastAccess > idleBefore) {
+                    continue;
+                }
+                scanLock.readLock().lock();
+                try {
+                    synchronized (lockFor(candidate.getKey())) {
+                        HotUser entry = hot.get(candidate.getKey());
+                        // Re-checked under the lock: the user may have been read, replaced or deleted meanwhile
+                        if (entry != null && entry.lastAccess <= idleBefore) {
+                            cold.put(entry.user);
+                            hot.remove(candidate.getKey());
+                            moved++;
+                        }
+                    }
+                } finally {
+                    scanLock.readLock().unlock();
+                }
+            }
+            cold.maintain();
+        } catch (RuntimeException e) {
+            log.warn("Tiering sweep failed after moving {} users to the cold tier", moved, e);
+        }
+        return moved;
+    }
+
+    /**
+     * Returns users in id order, starting at id from. Cold users are read in place and stay cold. The id range is read in
+     * chunks of at most SCAN_BATCH users per tier; while a chunk is read no user can change tier, so a user
+     * that exists for the whole scan is returned exactly once.
+     */
+    private List<User> scan(long from, int offset, int limit) {
+        List<User> result = new ArrayList<>();
+        List<User> hotChunk = new ArrayList<>(SCAN_BATCH);
+        int[] coldIds = new int[SCAN_BATCH];
+        int skipped = 0;
+        while (from <= Integer.MAX_VALUE && result.size() < limit) {
+            scanLock.writeLock().lock();
+            try {
+                hotChunk.clear();
+                for (HotUser entry : hot.tailMap((int) from).values()) {
+                    hotChunk.add(entry.user);
+                    if (hotChunk.size() == SCAN_BATCH) {
+                        break;
+                    }
+                }
+                int coldCount = cold.idsFrom((int) from, coldIds);
+                // The chunk ends where the first of the two batches ends
+                long end = Integer.MAX_VALUE;
+                if (hotChunk.size() == SCAN_BATCH) {
+                    end = hotChunk.get(SCAN_BATCH - 1).getId();
+                }
+                if (coldCount == SCAN_BATCH) {
+                    end = Math.min(end, coldIds[SCAN_BATCH - 1]);
+                }
+
+                int hotPosition = 0;
+                int coldPosition = 0;
+                while (result.size() < limit) {
+                    boolean hotLeft = hotPosition < hotChunk.size() && hotChunk.get(hotPosition).getId() <= end;
+                    boolean coldLeft = coldPosition < coldCount && coldIds[coldPosition] <= end;
+                    if (!hotLeft && !coldLeft) {
+                        break;
+                    }
+                    boolean takeHot = hotLeft && (!coldLeft || hotChunk.get(hotPosition).getId() < coldIds[coldPosition]);
+                    // A cold user can still be deleted while the chunk is read; only users still there count
+                    boolean present = takeHot || cold.contains(coldIds[coldPosition]);
+                    if (present && skipped < offset) {
+                        skipped++;
+                    } else if (takeHot) {
+                        result.add(hotChunk.get(hotPosition));
+                    } else {
+                        User user = cold.get(coldIds[coldPosition]);
+                        if (user != null) {
+                            result.add(user);
+                        }
+                    }
+                    if (takeHot) {
+                        hotPosition++;
+                    } else {
+                        coldPosition++;
+                    }
+                }
+                from = end + 1;
+            } finally {
+                scanLock.writeLock().unlock();
+            }
+        }
+        return result;
+    }
+
+    private Object lockFor(int id) {
+        return locks[Math.floorMod(id, LOCK_STRIPES)];
+    }
+
+    public int getHotCount() {
+        return hot.size();
+    }
+
+    public int getColdCount() {
+        return cold.size();
+    }
+
+    // Heap used by the cold tier's id to offset index
+    public long getColdIndexBytes() {
+        return cold.getIndexBytes();
+    }
+
+    public long getColdFileBytes() {
+        return cold.getFileBytes();
+    }
+
+    /**
+     * Stops the sweeper and deletes the cold segment file.
+     */
+    @Override
+    public void destroy() throws InterruptedException {
+        sweeper.shutdownNow();
+        sweeper.awaitTermination(30, TimeUnit.SECONDS);
+        cold.close();
+    }
+
+    private static final class HotUser {
+
+        final User user;
+        volatile long lastAccess = System.currentTimeMillis();
+
+        HotUser(User user) {
+            this.user = user;
+        }
+
+        void touch() {
+            long now = System.currentTimeMillis();
+            if (now - lastAccess > TOUCH_GRANULARITY_MILLIS) {
+                lastAccess = now;
+            }
+        }
+    }
+}
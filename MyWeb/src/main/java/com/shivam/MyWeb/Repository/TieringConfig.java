@@ -0,0 +1,20 @@
+package com.shivam.MyWeb.Repository;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Selects the hot/cold tiered store with {@code users.store=tiered}.
+ */
+@Configuration
+@EnableConfigurationProperties(TieringProperties.class)
+public class TieringConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "users.store", havingValue = "tiered")
+    public TieredUserRepository tieredUserRepository(TieringProperties properties) {
+        return new TieredUserRepository(properties);
+    }
+}
@@ -0,0 +1,37 @@
+package com.shivam.MyWeb.Repository;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Settings for the hot/cold tiered store, used with {@code users.store=tiered} (prefix {@code users.tiering}).
+ */
+@ConfigurationProperties(prefix = "users.tiering")
+public class TieringProperties {
+
+    // Users neither read nor written for this long move to the cold segment
+    private Duration idleAfter = Duration.ofMinutes(10);
+
+    // How often the hot tier is scanned for idle users
+    private Duration sweepInterval = Duration.ofMinutes(1);
+
+    // Where the cold segment file is created; it is deleted on shutdown
+    private String directory = System.getProperty("java.io.tmpdir");
+
+    // Size of each memory-mapped region of the segment file
+    private DataSize chunkSize = DataSize.ofMegabytes(64);
+
+    public Duration getIdleAfter() { return idleAfter; }
+    public void setIdleAfter(Duration idleAfter) { this.idleAfter = idleAfter; }
+
+    public Duration getSweepInterval() { return sweepInterval; }
+    public void setSweepInterval(Duration sweepInterval) { this.sweepInterval = sweepInterval; }
+
+    public String getDirectory() { return directory; }
+    public void setDirectory(String directory) { this.directory = directory; }
+
+    public DataSize getChunkSize() { return chunkSize; }
+    public void setChunkSize(DataSize chunkSize) { this.chunkSize = chunkSize; }
+}
@@ -0,0 +1,48 @@
+package com.shivam.MyWeb.Repository;
+
+import com.shivam.MyWeb.Model.User;
+
+import java.util.List;
+
+/**
+ * Storage behind UserService. Pick the backend with {@code users.store} ({@code memory} or {@code tiered}),
+ * or run with the {@code jdbc} profile for the relational store.
+ */
+public interface UserRepository {
+
+    // All users ordered by id
+    List<User> findAll();
+
+    // One page of users ordered by id
+    List<User> findPage(int offset, int limit);
+
+    // Up to limit users with an id above lastId, ordered by id; unlike findPage, a write before lastId
+    // cannot shift the next page
+    List<User> findPageAfter(int lastId, int limit);
+
+    User findById(int id);
+
+    // One entry per id, in the given order, null where the id does not exist
+    List<User> findAllById(List<Integer> ids);
+
+    // Returns false without changing anything if the id already exists
+    boolean insert(User user);
+
+    // Bulk load; all or nothing, returns false if any id already exists
+    boolean insertAll(List<User> users);
+
+    // Returns false if no user has this id
+    boolean update(User user);
+
+    // Returns false if no user has this id
+    boolean delete(int id);
+
+    // Inserts or replaces each user; used to flush already-validated changes in bulk
+    void saveAll(List<User> users);
+
+    // Removes each id that exists; ids that do not exist are ignored
+    void deleteAll(List<Integer> ids);
+
+    // Highest id in use, or 0 when there are no users; used to seed id allocation
+    int findMaxId();
+}
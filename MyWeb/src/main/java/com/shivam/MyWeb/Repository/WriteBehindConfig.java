@@ -0,0 +1,25 @@
+package com.shivam.MyWeb.Repository;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+/**
+ * Puts write-behind in front of the JDBC store when {@code users.write-behind.enabled=true}.
+ * Requires the {@code jdbc} profile; the in-memory store gains nothing from it.
+ */
+@Configuration
+@EnableConfigurationProperties(WriteBehindProperties.class)
+public class WriteBehindConfig {
+
+    @Bean
+    @Primary
+    @ConditionalOnProperty(prefix = "users.write-behind", name = "enabled", havingValue = "true")
+    public WriteBehindUserRepository writeBehindUserRepository(
+            @Qualifier("jdbcUserRepository") UserRepository jdbcUserRepository, WriteBehindProperties properties) {
+        return new WriteBehindUserRepository(jdbcUserRepository, properties);
+    }
+}
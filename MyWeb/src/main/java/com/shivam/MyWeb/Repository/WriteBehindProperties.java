@@ -0,0 +1,64 @@
+package com.shivam.MyWeb.Repository;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for write-behind in front of the JDBC store (prefix {@code users.write-behind}).
+ */
+@ConfigurationProperties(prefix = "users.write-behind")
+public class WriteBehindProperties {
+
+    public enum Ack {
+        // Return once the change is visible in memory
+        MEMORY,
+        // Return once the batch holding the change has been written to the store
+        FLUSHED
+    }
+
+    private boolean enabled = false;
+
+    private Ack ack = Ack.MEMORY;
+
+    // Maximum number of ids waiting to be flushed
+    private int queueCapacity = 10_000;
+
+    private int batchSize = 500;
+
+    // How long the writer waits for the first change of a batch before checking again
+    private Duration flushInterval = Duration.ofMillis(20);
+
+    // How long a writer waits for queue space before the write is refused
+    private Duration offerTimeout = Duration.ofSeconds(1);
+
+    // With ack=FLUSHED, how long a writer waits for its batch before giving up with 503
+    private Duration flushTimeout = Duration.ofSeconds(5);
+
+    // Failed flushes of one entry before it is dropped
+    private int maxAttempts = 5;
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public Ack getAck() { return ack; }
+    public void setAck(Ack ack) { this.ack = ack; }
+
+    public int getQueueCapacity() { return queueCapacity; }
+    public void setQueueCapacity(int queueCapacity) { this.queueCapacity = queueCapacity; }
+
+    public int getBatchSize() { return batchSize; }
+    public void setBatchSize(int batchSize) { this.batchSize = batchSize; }
+
+    public Duration getFlushInterval() { return flushInterval; }
+    public void setFlushInterval(Duration flushInterval) { this.flushInterval = flushInterval; }
+
+    public Duration getOfferTimeout() { return offerTimeout; }
+    public void setOfferTimeout(Duration offerTimeout) { this.offerTimeout = offerTimeout; }
+
+    public Duration getFlushTimeout() { return flushTimeout; }
+    public void setFlushTimeout(Duration flushTimeout) { this.flushTimeout = flushTimeout; }
+
+    public int getMaxAttempts() { return maxAttempts; }
+    public void setMaxAttempts(int maxAttempts) { this.maxAttempts = maxAttempts; }
+}
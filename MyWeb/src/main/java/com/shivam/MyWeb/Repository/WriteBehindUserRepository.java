@@ -0,0 +1,599 @@
+package com.shivam.MyWeb.Repository;
+
+import com.shivam.MyWeb.Model.User;
+import com.shivam.MyWeb.Timing.ServerTimings;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Applies writes to an in-memory overlay and flushes them to the delegate store in batches.
+ *
+ * The overlay holds the latest unflushed state of each changed id, so reads see writes straight away.
+ * Several writes to one id before it is flushed collapse into one entry and one row write. A single
+ * writer thread drains changed ids in batches of up to batchSize and writes each batch with one saveAll
+ * and one deleteAll call. At most queueCapacity ids can be waiting; beyond that writers wait up to
+ * offerTimeout and then get WriteQueueFullException. With ack=FLUSHED each write also waits up to
+ * flushTimeout for its batch.
+ *
+ * Writes to one id, and the writer claiming that id for a batch, hold a lock striped by id; reads take
+ * no lock. If a batch fails, its entries are written one by one so a single bad row cannot hold back
+ * the rest. An entry that still fails is retried up to maxAttempts times and then dropped with an error
+ * logged, its queue room released and its waiters failed.
+ */
+public class WriteBehindUserRepository implements UserRepository, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(WriteBehindUserRepository.class);
+
+    private static final long RETRY_BACKOFF_MILLIS = 100;
+    private static final int LOCK_STRIPES = 64;
+
+    private final UserRepository delegate;
+    private final WriteBehindProperties properties;
+
+    private final Map<Integer, Pending> overlay = new ConcurrentHashMap<>();
+    private final BlockingQueue<Integer> dirtyIds = new LinkedBlockingQueue<>();
+    private final Semaphore capacity;
+    private final ReentrantLock[] locks = new ReentrantLock[LOCK_STRIPES];
+    private final AtomicLong droppedWrites = new AtomicLong();
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    public WriteBehindUserRepository(UserRepository delegate, WriteBehindProperties properties) {
+        this.delegate = delegate;
+        this.properties = properties;
+        this.capacity = new Semaphore(properties.getQueueCapacity());
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        this.writer = new Thread(this::runWriter, "user-write-behind");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    @Override
+    public List<User> findAll() {
+        if (overlay.isEmpty()) {
+            return delegate.findAll();
+        }
+        // Copy the overlay before reading the delegate: an entry flushed in between is then in both,
+        // rather than in neither
+        Map<Integer, Pending> unflushed = new HashMap<>(overlay);
+        Map<Integer, User> merged = new TreeMap<>();
+        for (User user : delegate.findAll()) {
+            merged.put(user.getId(), user);
+        }
+        unflushed.forEach((id, pending) -> {
+            if (pending.user == null) {
+                merged.remove(id);
+            } else {
+                merged.put(id, pending.user);
+            }
+        });
+        return new ArrayList<>(merged.values());
+    }
+
+    @Override
+    public List<User> findPage(int offset, int limit) {
+        if (overlay.isEmpty()) {
+            return delegate.findPage(offset, limit);
+        }
+        // Copied before reading the delegate, as in findAll
+        TreeMap<Integer, Pending> unflushed = new TreeMap<>(overlay);
+        int k = unflushed.size();
+        // Each unflushed entry moves later users by at most one place, so the rows of this page are within
+        // k places of the same page in the delegate
+        int base = Math.max(0, offset - k);
+        int window = (int) Math.min(Integer.MAX_VALUE, (long) limit + 2L * k);
+        List<User> rows = delegate.findPage(base, window);
+        if (rows.isEmpty() && base > 0) {
+            return List.of();
+        }
+        int lo = base == 0 ? Integer.MIN_VALUE : rows.get(0).getId();
+        int hi = rows.size() < window ? Integer.MAX_VALUE : rows.get(rows.size() - 1).getId();
+
+        // Position of lo in the merged view: the delegate rows before it, less those the overlay replaces
+        // or deletes, plus the unflushed users before it
+        int start = base;
+        NavigableMap<Integer, Pending> before = unflushed.headMap(lo, false);
+        if (!before.isEmpty()) {
+            for (User user : delegate.findAllById(new ArrayList<>(before.keySet()))) {
+                if (user != null) {
+                    start--;
+                }
+            }
+            for (Pending pending : before.values()) {
+                if (pending.user != null) {
+                    start++;
+                }
+            }
+        }
+
+        Map<Integer, User> merged = new TreeMap<>();
+        for (User user : rows) {
+            merged.put(user.getId(), user);
+        }
+        unflushed.subMap(lo, true, hi, true).forEach((id, pending) -> {
+            if (pending.user == null) {
+                merged.remove(id);
+            } else {
+                merged.put(id, pending.user);
+            }
+        });
+        List<User> segment = new ArrayList<>(merged.values());
+        int from = Math.min(segment.size(), Math.max(0, offset - start));
+        return segment.subList(from, (int) Math.min(segment.size(), (long) from + limit));
+    }
+
+    @Override
+    public List<User> findPageAfter(int lastId, int limit) {
+        if (overlay.isEmpty()) {
+            return delegate.findPageAfter(lastId, limit);
+        }
+        // Copied before reading the delegate, as in findAll
+        TreeMap<Integer, Pending> unflushed = new TreeMap<>();
+        overlay.forEach((id, pending) -> {
+            if (id > lastId) {
+                unflushed.put(id, pending);
+            }
+        });
+        List<User> result = new ArrayList<>(limit);
+        int after = lastId;
+        while (result.size() < limit) {
+            List<User> rows = delegate.findPageAfter(after, limit);
+            boolean more = rows.size() == limit;
+            // Overlay entries up to the last row belong to this page; past the end of the store, all of them do
+            int upTo = more ? rows.get(rows.size() - 1).getId() : Integer.MAX_VALUE;
+            Map<Integer, User> merged = new TreeMap<>();
+            for (User user : rows) {
+                merged.put(user.getId(), user);
+            }
+            unflushed.subMap(after, false, upTo, true).forEach((id, pending) -> {
+                if (pending.user == null) {
+                    merged.remove(id);
+                } else {
+                    merged.put(id, pending.user);
+                }
+            });
+            for (User user : merged.values()) {
+                if (result.size() == limit) {
+                    break;
+                }
+                result.add(user);
+            }
+            // Deleted rows can leave the page short while the store has more
+            if (!more) {
+                break;
+            }
+            after = upTo;
+        }
+        return result;
+    }
+
+    @Override
+    public User findById(int id) {
+        Pending pending = overlay.get(id);
+        return pending != null ? pending.user : delegate.findById(id);
+    }
+
+    @Override
+    public List<User> findAllById(List<Integer> ids) {
+        List<User> result = new ArrayList<>(ids.size());
+        List<Integer> misses = new ArrayList<>();
+        List<Integer> missPositions = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i++) {
+            Pending pending = overlay.get(ids.get(i));
+            result.add(pending != null ? pending.user : null);
+            if (pending == null) {
+                misses.add(ids.get(i));
+                missPositions.add(i);
+            }
+        }
+        if (!misses.isEmpty()) {
+            List<User> loaded = delegate.findAllById(misses);
+            for (int j = 0; j < misses.size(); j++) {
+                result.set(missPositions.get(j), loaded.get(j));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public boolean insert(User user) {
+        return write(user.getId(), user, false);
+    }
+
+    /**
+     * All or nothing: every id is checked with the stripe locks of the whole batch held, then all users
+     * are published at once. Queue room for the whole batch is reserved up front. A batch larger than
+     * the queue is written straight to the delegate instead, still under the locks.
+     */
+    @Override
+    public boolean insertAll(List<User> users) {
+        if (users.isEmpty()) {
+            return true;
+        }
+        boolean direct = users.size() > properties.getQueueCapacity();
+        int unusedPermits = 0;
+        if (!direct) {
+            acquirePermits(users.size());
+            unusedPermits = users.size();
+        }
+        List<Pending> written = new ArrayList<>(users.size());
+        List<ReentrantLock> held = lockAll(users);
+        try {
+            Set<Integer> seen = new HashSet<>();
+            List<Integer> notInOverlay = new ArrayList<>();
+            for (User user : users) {
+                if (!seen.add(user.getId())) {
+                    return false;
+                }
+                Pending current = overlay.get(user.getId());
+                if (current == null) {
+                    notInOverlay.add(user.getId());
+                } else if (current.user != null) {
+                    return false;
+                } else if (direct) {
+                    // A queued delete of this id would be flushed after the direct insert and undo it
+                    throw new WriteQueueFullException();
+                }
+            }
+            if (!notInOverlay.isEmpty() && delegate.findAllById(notInOverlay).stream().anyMatch(Objects::nonNull)) {
+                return false;
+            }
+            if (direct) {
+                return delegate.insertAll(users);
+            }
+            for (User user : users) {
+                Pending current = overlay.get(user.getId());
+                Pending entry;
+                if (current != null && !current.claimed) {
+                    entry = new Pending(user, current.flushed);
+                    overlay.put(user.getId(), entry);
+                } else {
+                    entry = new Pending(user, new CompletableFuture<>());
+                    overlay.put(user.getId(), entry);
+                    dirtyIds.add(user.getId());
+                    unusedPermits--;
+                }
+                written.add(entry);
+            }
+        } finally {
+            for (ReentrantLock lock : held) {
+                lock.unlock();
+            }
+            if (unusedPermits > 0) {
+                capacity.release(unusedPermits);
+            }
+        }
+        for (Pending entry : written) {
+            awaitFlush(entry);
+        }
+        return true;
+    }
+
+    @Override
+    public boolean update(User user) {
+        return write(user.getId(), user, true);
+    }
+
+    @Override
+    public boolean delete(int id) {
+        return write(id, null, true);
+    }
+
+    @Override
+    public void saveAll(List<User> users) {
+        for (User user : users) {
+            write(user.getId(), user, null);
+        }
+    }
+
+    @Override
+    public void deleteAll(List<Integer> ids) {
+        for (Integer id : ids) {
+            write(id, null, null);
+        }
+    }
+
+    /**
+     * Records the new state of one id (user null means deleted).
+     * mustExist true requires the id to exist, false requires it to be absent, null accepts either.
+     */
+    private boolean write(int id, User user, Boolean mustExist) {
+        // Merging into a queued entry needs no queue room; only a fresh entry takes a permit
+        boolean permitHeld = false;
+        try {
+            while (true) {
+                Pending written = null;
+                ReentrantLock lock = lockFor(id);
+                lock.lock();
+                try {
+                    Pending current = overlay.get(id);
+                    if (mustExist != null) {
+                        boolean exists = current != null ? current.user != null : delegate.findById(id) != null;
+                        if (exists != mustExist) {
+                            return false;
+                        }
+                    }
+                    if (current != null && !current.claimed) {
+                        // Not picked up by the writer yet: replace it and share its completion
+                        written = new Pending(user, current.flushed);
+                        overlay.put(id, written);
+                    } else if (permitHeld) {
+                        written = new Pending(user, new CompletableFuture<>());
+                        overlay.put(id, written);
+                        dirtyIds.add(id);
+                        // The permit now belongs to the entry
+                        permitHeld = false;
+                    }
+                } finally {
+                    lock.unlock();
+                }
+                if (written == null) {
+                    acquirePermits(1);
+                    permitHeld = true;
+                    continue;
+                }
+                awaitFlush(written);
+                return true;
+            }
+        } finally {
+            if (permitHeld) {
+                capacity.release();
+            }
+        }
+    }
+
+    private void awaitFlush(Pending written) {
+        if (properties.getAck() != WriteBehindProperties.Ack.FLUSHED) {
+            return;
+        }
+        long waitStart = System.nanoTime();
+        try {
+            written.flushed.get(properties.getFlushTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new WriteNotFlushedException();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new WriteNotFlushedException();
+        } catch (ExecutionException e) {
+            throw new WriteFailedException(e.getCause());
+        } finally {
+            ServerTimings.addLockWait(System.nanoTime() - waitStart);
+        }
+    }
+
+    private void acquirePermits(int permits) {
+        long waitStart = System.nanoTime();
+        try {
+            if (!capacity.tryAcquire(permits, properties.getOfferTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new WriteQueueFullException();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new WriteQueueFullException();
+        } finally {
+            ServerTimings.addLockWait(System.nanoTime() - waitStart);
+        }
+    }
+
+    private ReentrantLock lockFor(int id) {
+        return locks[Math.floorMod(id, LOCK_STRIPES)];
+    }
+
+    // Locks the stripes of all the users in stripe order, so two batches cannot deadlock
+    private List<ReentrantLock> lockAll(List<User> users) {
+        boolean[] needed = new boolean[LOCK_STRIPES];
+        for (User user : users) {
+            needed[Math.floorMod(user.getId(), LOCK_STRIPES)] = true;
+        }
+        List<ReentrantLock> held = new ArrayList<>();
+        for (int stripe = 0; stripe < LOCK_STRIPES; stripe++) {
+            if (needed[stripe]) {
+                locks[stripe].lock();
+                held.add(locks[stripe]);
+            }
+        }
+        return held;
+    }
+
+    private void runWriter() {
+        long pollMillis = properties.getFlushInterval().toMillis();
+        while (running || !dirtyIds.isEmpty()) {
+            try {
+                Integer first = dirtyIds.poll(pollMillis, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                List<Integer> ids = new ArrayList<>(properties.getBatchSize());
+                ids.add(first);
+                dirtyIds.drainTo(ids, properties.getBatchSize() - 1);
+                flush(ids);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void flush(List<Integer> ids) throws InterruptedException {
+        Map<Integer, Pending> batch = new LinkedHashMap<>();
+        for (Integer id : ids) {
+            ReentrantLock lock = lockFor(id);
+            lock.lock();
+            try {
+                Pending pending = overlay.get(id);
+                if (pending != null) {
+                    pending.claimed = true;
+                    batch.put(id, pending);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        if (store(batch) == null) {
+            batch.forEach(this::completed);
+            return;
+        }
+        // One bad row must not hold back the rest: write each entry on its own
+        boolean retrying = false;
+        for (Map.Entry<Integer, Pending> entry : batch.entrySet()) {
+            RuntimeException failure = store(Map.of(entry.getKey(), entry.getValue()));
+            if (failure == null) {
+                completed(entry.getKey(), entry.getValue());
+            } else {
+                retrying |= failed(entry.getKey(), entry.getValue(), failure);
+            }
+        }
+        if (retrying) {
+            Thread.sleep(RETRY_BACKOFF_MILLIS);
+        }
+    }
+
+    // Writes the entries to the delegate; returns the failure, or null on success
+    private RuntimeException store(Map<Integer, Pending> entries) {
+        List<User> saves = new ArrayList<>();
+        List<Integer> deletes = new ArrayList<>();
+        entries.forEach((id, pending) -> {
+            if (pending.user == null) {
+                deletes.add(id);
+            } else {
+                saves.add(pending.user);
+            }
+        });
+        try {
+            if (!saves.isEmpty()) {
+                delegate.saveAll(saves);
+            }
+            if (!deletes.isEmpty()) {
+                delegate.deleteAll(deletes);
+            }
+            return null;
+        } catch (RuntimeException e) {
+            return e;
+        }
+    }
+
+    private void completed(int id, Pending pending) {
+        overlay.remove(id, pending);
+        capacity.release();
+        pending.flushed.complete(null);
+    }
+
+    /**
+     * Handles an entry whose write failed on its own. Returns true if it was queued for another attempt.
+     */
+    private boolean failed(int id, Pending pending, RuntimeException failure) {
+        pending.attempts++;
+        Pending current;
+        ReentrantLock lock = lockFor(id);
+        lock.lock();
+        try {
+            current = overlay.get(id);
+            if (current == pending) {
+                if (pending.attempts < properties.getMaxAttempts()) {
+                    log.warn("Write-behind flush of user {} failed (attempt {}), retrying", id, pending.attempts, failure);
+                    pending.claimed = false;
+                    dirtyIds.add(id);
+                    return true;
+                }
+                overlay.remove(id);
+            }
+        } finally {
+            lock.unlock();
+        }
+        capacity.release();
+        if (current != pending && current != null) {
+            // A newer write replaced this entry; it carries the full state and is already queued
+            current.flushed.whenComplete((ignored, error) -> {
+                if (error == null) {
+                    pending.flushed.complete(null);
+                } else {
+                    pending.flushed.completeExceptionally(error);
+                }
+            });
+            return false;
+        }
+        droppedWrites.incrementAndGet();
+        log.error("Write-behind dropped the write of user {} after {} failed attempts; the store keeps its old state",
+                id, pending.attempts, failure);
+        pending.flushed.completeExceptionally(failure);
+        return false;
+    }
+
+    @Override
+    public int findMaxId() {
+        int max = delegate.findMaxId();
+        for (Map.Entry<Integer, Pending> entry : overlay.entrySet()) {
+            // A queued delete may still be hiding the delegate's maximum; that only leaves a gap in the ids
+            if (entry.getValue().user != null) {
+                max = Math.max(max, entry.getKey());
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Flushes everything still queued, then stops the writer thread.
+     */
+    @Override
+    public void destroy() throws InterruptedException {
+        running = false;
+        writer.join(TimeUnit.SECONDS.toMillis(30));
+        if (!overlay.isEmpty()) {
+            log.error("Write-behind stopped with {} writes not flushed to the store; they are lost", overlay.size());
+        }
+    }
+
+    // Number of ids changed in memory but not yet written to the delegate
+    public int getPendingCount() {
+        return overlay.size();
+    }
+
+    // Number of writes given up after maxAttempts failed flushes
+    public long getDroppedCount() {
+        return droppedWrites.get();
+    }
+
+    private static final class Pending {
+
+        // Null means the user was deleted
+        final User user;
+        final CompletableFuture<Void> flushed;
+        volatile boolean claimed;
+        // Failed flush attempts; only touched by the writer thread
+        int attempts;
+
+        Pending(User user, CompletableFuture<Void> flushed) {
+            this.user = user;
+            this.flushed = flushed;
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.shivam.MyWeb.Repository;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
+public class WriteFailedException extends RuntimeException {
+
+    public WriteFailedException(Throwable cause) {
+        super("Write could not be stored", cause);
+    }
+}
@@ -0,0 +1,12 @@
+package com.shivam.MyWeb.Repository;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class WriteNotFlushedException extends RuntimeException {
+
+    public WriteNotFlushedException() {
+        super("Write is queued but was not flushed to the store in time, try again later");
+    }
+}
@@ -0,0 +1,12 @@
+package com.shivam.MyWeb.Repository;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class WriteQueueFullException extends RuntimeException {
+
+    public WriteQueueFullException() {
+        super("Write queue is full, try again later");
+    }
+}
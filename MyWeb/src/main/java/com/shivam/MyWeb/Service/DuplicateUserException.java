@@ -0,0 +1,16 @@
+package com.shivam.MyWeb.Service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.CONFLICT)
+public class DuplicateUserException extends RuntimeException {
+
+    public DuplicateUserException(int userId) {
+        this("User with id " + userId + " already exists");
+    }
+
+    public DuplicateUserException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,60 @@
+package com.shivam.MyWeb.Service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Version counter of the user store plus the ids changed since a consumer last drained them.
+ *
+ * UserService records each id after the write has reached the store, so a consumer that drains an id and
+ * then reads it sees that write or a later one. At most MAX_TRACKED ids are kept; beyond that the log only
+ * remembers that it overflowed and the consumer has to reread everything.
+ */
+@Component
+public class UserChangeLog {
+
+    static final int MAX_TRACKED = 100_000;
+
+    private final AtomicLong version = new AtomicLong();
+    private final Set<Integer> changedIds = ConcurrentHashMap.newKeySet();
+    private volatile boolean overflowed;
+
+    public void record(int id) {
+        if (!overflowed) {
+            changedIds.add(id);
+            if (changedIds.size() > MAX_TRACKED) {
+                overflowed = true;
+                changedIds.clear();
+            }
+        }
+        version.incrementAndGet();
+    }
+
+    public long getVersion() {
+        return version.get();
+    }
+
+    /**
+     * Removes and returns the ids changed since the last call, or null if too many changed to track
+     * and the caller has to start over from the full store.
+     */
+    public List<Integer> drain() {
+        if (overflowed) {
+            overflowed = false;
+            changedIds.clear();
+            return null;
+        }
+        List<Integer> drained = new ArrayList<>();
+        for (Iterator<Integer> ids = changedIds.iterator(); ids.hasNext(); ) {
+            drained.add(ids.next());
+            ids.remove();
+        }
+        return drained;
+    }
+}
@@ -0,0 +1,64 @@
+package com.shivam.MyWeb.Service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hands out user ids without locks.
+ *
+ * Ids are reserved in blocks: each thread takes a whole block from a shared counter and then serves ids
+ * from it locally, so the shared counter is touched once per block rather than once per insert.
+ * With several instances, block b belongs to node (b mod nodeCount), so nodes never hand out the same id.
+ * Ids are unique but not strictly increasing across threads.
+ */
+@Component
+public class UserIdAllocator {
+
+    private final int nodeId;
+    private final int nodeCount;
+    private final int blockSize;
+
+    // Next block number for this node; the global block index is blockNumber * nodeCount + nodeId
+    private final AtomicLong nextBlock = new AtomicLong();
+
+    private final ThreadLocal<long[]> currentBlock = ThreadLocal.withInitial(() -> new long[] {0, 0});
+
+    public UserIdAllocator(@Value("${users.id.node-id:0}") int nodeId,
+                           @Value("${users.id.node-count:1}") int nodeCount,
+                           @Value("${users.id.block-size:64}") int blockSize) {
+        if (nodeCount < 1 || nodeId < 0 || nodeId >= nodeCount || blockSize < 1) {
+            throw new IllegalArgumentException("Invalid id allocation settings: node " + nodeId + " of " + nodeCount
+                    + ", block size " + blockSize);
+        }
+        this.nodeId = nodeId;
+        this.nodeCount = nodeCount;
+        this.blockSize = blockSize;
+    }
+
+    /**
+     * Moves allocation past maxId, so ids already in the store are not handed out again.
+     * Blocks already taken by a thread are kept; call this before ids are allocated.
+     */
+    public void seed(int maxId) {
+        // Blocks whose global index is at least ceil(maxId / blockSize) start above maxId
+        long firstFreeGlobalBlock = (maxId + (long) blockSize - 1) / blockSize;
+        long firstFreeBlock = (firstFreeGlobalBlock + nodeCount - 1) / nodeCount;
+        nextBlock.accumulateAndGet(firstFreeBlock, Math::max);
+    }
+
+    public int nextId() {
+        // block[0] is the next id to hand out, block[1] is one past the last id of the block
+        long[] block = currentBlock.get();
+        if (block[0] == block[1]) {
+            long start = (nextBlock.getAndIncrement() * nodeCount + nodeId) * blockSize + 1;
+            if (start + blockSize - 1 > Integer.MAX_VALUE) {
+                throw new IllegalStateException("User id space exhausted");
+            }
+            block[0] = start;
+            block[1] = start + blockSize;
+        }
+        return (int) block[0]++;
+    }
+}
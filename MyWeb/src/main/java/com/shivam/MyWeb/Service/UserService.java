@@ -1,50 +1,144 @@
 package com.shivam.MyWeb.Service;
 
+import com.shivam.MyWeb.Cache.UserCache;
 import com.shivam.MyWeb.Model.User;
+import com.shivam.MyWeb.Repository.UserRepository;
+import com.shivam.MyWeb.Timing.ServerTimings;
 
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
-import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Service
 public class UserService {
 
-    List<User> users=new ArrayList<>(Arrays.asList(new User(1,"Shivam","shivam@gmail.com"),new User(2,"Raj","raj@gmail.com"), new User(3,"Rajesh","rajesh@gmail.com")));
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserCache userCache;
+
+    @Autowired
+    private UserIdAllocator idAllocator;
+
+    @Autowired
+    private UserChangeLog changeLog;
+
+    // Lookups currently running, keyed by their id list, so identical concurrent requests share one result
+    private final Map<List<Integer>, CompletableFuture<List<User>>> pendingLookups = new ConcurrentHashMap<>();
+
+    // Start allocating above the ids already stored, so createUser does not probe through them
+    @PostConstruct
+    void seedIdAllocator() {
+        idAllocator.seed(userRepository.findMaxId());
+    }
 
     public List<User> getAllUsers(){
-        return users;
+        return userRepository.findAll();
+    }
+
+    public List<User> getUsersPage(int page, int size){
+        // Throws rather than wrapping to a negative offset; the controller rejects such pages with 400
+        return userRepository.findPage(Math.multiplyExact(page, size), size);
     }
 
     public User getUser(int userId){
-        return users.stream()
-                    .filter(u -> u.getId() == userId)
-                    .findFirst()
-                    .orElse(null);
+        return userCache.get(userId);
     }    
 
+    /**
+     * Resolves many ids in one call.
+     * The result follows the order of userIds and holds null for ids that do not exist.
+     */
+    public List<User> getUsers(List<Integer> userIds){
+        List<Integer> key = List.copyOf(userIds);
+        CompletableFuture<List<User>> lookup = new CompletableFuture<>();
+        CompletableFuture<List<User>> inFlight = pendingLookups.putIfAbsent(key, lookup);
+        if (inFlight != null) {
+            long waitStart = System.nanoTime();
+            try {
+                return inFlight.join();
+            } finally {
+                ServerTimings.addLockWait(System.nanoTime() - waitStart);
+            }
+        }
+        try {
+            List<User> result = Collections.unmodifiableList(userCache.getAll(key));
+            lookup.complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            lookup.completeExceptionally(e);
+            throw e;
+        } finally {
+            pendingLookups.remove(key, lookup);
+        }
+    }
+
+    /**
+     * Stores a user under the id it already carries.
+     * Throws DuplicateUserException if that id is taken; the check and the insert are one atomic step.
+     */
     public void addUser(User user){
-        users.add(user);
+        if (!userRepository.insert(user)) {
+            throw new DuplicateUserException(user.getId());
+        }
+        userCache.invalidate(user.getId());
+        changeLog.record(user.getId());
+    }
+
+    /**
+     * Bulk load of users that carry their own ids. Nothing is stored if any id is already taken.
+     */
+    public void addUsers(List<User> newUsers){
+        if (!userRepository.insertAll(newUsers)) {
+            throw new DuplicateUserException("One or more of " + newUsers.size() + " users already exist");
+        }
+        userCache.invalidateAll(newUsers);
+        for (User user : newUsers) {
+            changeLog.record(user.getId());
+        }
+    }
+
+    /**
+     * Stores a user under a freshly allocated id and returns it with that id set.
+     * Allocation starts above the ids stored at startup; ids taken later by explicit inserts are skipped.
+     */
+    public User createUser(User user){
+        User created = new User(idAllocator.nextId(), user.getName(), user.getEmail());
+        while (!userRepository.insert(created)) {
+            created.setId(idAllocator.nextId());
+        }
+        userCache.invalidate(created.getId());
+        changeLog.record(created.getId());
+        return created;
     }
 
     public int getIndex(User user){
-       int index=0;
+       List<User> users=userRepository.findAll();
        for(int i=0; i<users.size(); i++){
           if(users.get(i).getId() == user.getId()){
-            index=i;
-            break;
+            return i;
           }
        }
-       return index;
+       return 0;
     }
 
     public void updateUser(User user){
-        users.set(getIndex(user),user);
+        userRepository.update(user);
+        userCache.invalidate(user.getId());
+        changeLog.record(user.getId());
     }
 
     public void deleteUser(int userId){
-        users.removeIf(user -> user.getId() == userId);
+        userRepository.delete(userId);
+        userCache.invalidate(userId);
+        changeLog.record(userId);
     }
 
 }
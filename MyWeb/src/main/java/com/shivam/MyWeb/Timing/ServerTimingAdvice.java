@@ -0,0 +1,62 @@
+package com.shivam.MyWeb.Timing;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.RequestBodyAdviceAdapter;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.lang.reflect.Type;
+
+/**
+ * Marks the body conversion boundaries inside Spring MVC: request body read and response body written.
+ * Every hook is a no-op unless ServerTimingFilter is timing the current request.
+ *
+ * Writing the body commits the response, so the phases that are over by then are sent as the
+ * Server-Timing header just before it.
+ */
+@ControllerAdvice
+@ConditionalOnProperty(prefix = "users.timing", name = "enabled", matchIfMissing = true)
+public class ServerTimingAdvice extends RequestBodyAdviceAdapter implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(MethodParameter methodParameter, Type targetType,
+                            Class<? extends HttpMessageConverter<?>> converterType) {
+        return ServerTimings.current() != null;
+    }
+
+    @Override
+    public HttpInputMessage beforeBodyRead(HttpInputMessage inputMessage, MethodParameter parameter, Type targetType,
+                                           Class<? extends HttpMessageConverter<?>> converterType) {
+        ServerTimings.current().deserializeStarted(System.nanoTime());
+        return inputMessage;
+    }
+
+    @Override
+    public Object afterBodyRead(Object body, HttpInputMessage inputMessage, MethodParameter parameter, Type targetType,
+                                Class<? extends HttpMessageConverter<?>> converterType) {
+        ServerTimings.current().deserializeFinished(System.nanoTime());
+        return body;
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return ServerTimings.current() != null;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        ServerTimings timings = ServerTimings.current();
+        timings.serializeStarted(System.nanoTime());
+        response.getHeaders().set(ServerTimingFilter.SERVER_TIMING,
+                timings.toHeader(ServerTimings.Phase.DISPATCH, ServerTimings.Phase.LOCK));
+        return body;
+    }
+}
@@ -0,0 +1,85 @@
+package com.shivam.MyWeb.Timing;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Starts and finishes the phase timing of each /users request and reports it as Server-Timing.
+ *
+ * The message converters flush, and so commit the response, as soon as the body is written, which is
+ * before the timings are final. ServerTimingAdvice therefore sends the phases measured up to then as the
+ * header, and for clients that accept trailers (TE: trailers) the serialize and total phases follow as a
+ * trailer field after the chunked body, which the Server-Timing spec allows. A response that is still
+ * uncommitted when the chain returns, such as one without a body, gets every phase in the header instead.
+ * Registering a trailer makes Tomcat chunk the body, so the export route, which sends a file of known
+ * length with sendfile, never gets one. Every request is sampled either way.
+ */
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    public static final String SERVER_TIMING = "Server-Timing";
+
+    private static final String EXPORT_PATH = "/users/export";
+
+    private final SlowRequestRecorder recorder;
+
+    public ServerTimingFilter(SlowRequestRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        ServerTimings timings = ServerTimings.begin(System.nanoTime());
+        TimingTrailer trailer = null;
+        if (acceptsTrailers(request) && !EXPORT_PATH.equals(request.getRequestURI())) {
+            TimingTrailer registered = new TimingTrailer();
+            try {
+                response.setTrailerFields(registered);
+                response.setHeader(HttpHeaders.TRAILER, SERVER_TIMING);
+                trailer = registered;
+            } catch (IllegalStateException e) {
+                // The protocol has no trailers (HTTP/1.0); only an uncommitted response gets the header
+            }
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            timings.finish(System.nanoTime());
+            if (!response.isCommitted()) {
+                response.setHeader(SERVER_TIMING, timings.toHeader());
+            } else if (trailer != null) {
+                trailer.value = timings.toHeader(ServerTimings.Phase.SERIALIZE, ServerTimings.Phase.TOTAL);
+            }
+            recorder.maybeRecord(request.getMethod(), request.getRequestURI(), response.getStatus(), timings);
+            timings.end();
+        }
+    }
+
+    private static boolean acceptsTrailers(HttpServletRequest request) {
+        String te = request.getHeader(HttpHeaders.TE);
+        return te != null && te.toLowerCase(Locale.ROOT).contains("trailers");
+    }
+
+    /**
+     * Supplies the trailer once the body is complete; empty if the full value went out as a header.
+     */
+    private static final class TimingTrailer implements Supplier<Map<String, String>> {
+
+        private volatile String value;
+
+        @Override
+        public Map<String, String> get() {
+            String current = value;
+            return current == null ? Map.of() : Map.of(SERVER_TIMING, current);
+        }
+    }
+}
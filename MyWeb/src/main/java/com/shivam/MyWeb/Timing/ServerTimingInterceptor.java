@@ -0,0 +1,20 @@
+package com.shivam.MyWeb.Timing;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Closes the dispatch phase once Spring MVC has chosen the handler for a timed request.
+ */
+public class ServerTimingInterceptor implements HandlerInterceptor {
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        ServerTimings timings = ServerTimings.current();
+        if (timings != null) {
+            timings.handlerStarted(System.nanoTime());
+        }
+        return true;
+    }
+}
@@ -0,0 +1,164 @@
+package com.shivam.MyWeb.Timing;
+
+import java.util.Arrays;
+
+/**
+ * Phase timings of the request running on the current thread.
+ *
+ * One instance per thread is reused for every request, and durations are kept as nanoTime deltas in a
+ * fixed array, so timing a request allocates nothing until the header string is built.
+ */
+public final class ServerTimings {
+
+    public enum Phase {
+        // Filter entry until the handler is chosen
+        DISPATCH("dispatch"),
+        // @RequestBody conversion
+        DESERIALIZE("deserialize"),
+        // Controller and UserService work, excluding body conversion and lock waits
+        SERVICE("service"),
+        // Time blocked on locks or queues inside the service
+        LOCK("lock"),
+        // Writing the response body
+        SERIALIZE("serialize"),
+        TOTAL("total");
+
+        private final String metricName;
+
+        Phase(String metricName) {
+            this.metricName = metricName;
+        }
+
+        public String getMetricName() {
+            return metricName;
+        }
+    }
+
+    static final Phase[] PHASES = Phase.values();
+
+    private static final ThreadLocal<ServerTimings> CURRENT = ThreadLocal.withInitial(ServerTimings::new);
+
+    private final long[] durations = new long[PHASES.length];
+    private final StringBuilder header = new StringBuilder(128);
+    private boolean active;
+    private long start;
+    private long handlerStart;
+    private long deserializeStart;
+    private long serializeStart;
+
+    private ServerTimings() {}
+
+    static ServerTimings begin(long now) {
+        ServerTimings timings = CURRENT.get();
+        Arrays.fill(timings.durations, 0);
+        timings.active = true;
+        timings.start = now;
+        timings.handlerStart = 0;
+        timings.deserializeStart = 0;
+        timings.serializeStart = 0;
+        return timings;
+    }
+
+    /**
+     * The timings of the current request, or null if the current thread is not timing one.
+     */
+    static ServerTimings current() {
+        ServerTimings timings = CURRENT.get();
+        return timings.active ? timings : null;
+    }
+
+    /**
+     * Adds time spent blocked on a lock or queue to the current request, if one is being timed.
+     */
+    public static void addLockWait(long nanos) {
+        ServerTimings timings = CURRENT.get();
+        if (timings.active) {
+            timings.durations[Phase.LOCK.ordinal()] += nanos;
+        }
+    }
+
+    void handlerStarted(long now) {
+        if (handlerStart == 0) {
+            handlerStart = now;
+            durations[Phase.DISPATCH.ordinal()] = now - start;
+        }
+    }
+
+    void deserializeStarted(long now) {
+        deserializeStart = now;
+    }
+
+    void deserializeFinished(long now) {
+        if (deserializeStart != 0) {
+            durations[Phase.DESERIALIZE.ordinal()] += now - deserializeStart;
+            deserializeStart = 0;
+        }
+    }
+
+    void serializeStarted(long now) {
+        if (serializeStart == 0) {
+            serializeStart = now;
+            closeServicePhase(now);
+        }
+    }
+
+    void finish(long now) {
+        if (serializeStart != 0) {
+            durations[Phase.SERIALIZE.ordinal()] = now - serializeStart;
+        } else {
+            closeServicePhase(now);
+        }
+        durations[Phase.TOTAL.ordinal()] = now - start;
+    }
+
+    void end() {
+        active = false;
+    }
+
+    private void closeServicePhase(long now) {
+        if (handlerStart != 0) {
+            long service = now - handlerStart - durations[Phase.DESERIALIZE.ordinal()] - durations[Phase.LOCK.ordinal()];
+            durations[Phase.SERVICE.ordinal()] = Math.max(0, service);
+        }
+    }
+
+    public long getDuration(Phase phase) {
+        return durations[phase.ordinal()];
+    }
+
+    long[] durations() {
+        return durations;
+    }
+
+    /**
+     * Builds the Server-Timing header value, durations in milliseconds with microsecond precision.
+     */
+    String toHeader() {
+        return toHeader(Phase.DISPATCH, Phase.TOTAL);
+    }
+
+    /**
+     * Builds a Server-Timing value with only the phases from first to last, in declaration order.
+     */
+    String toHeader(Phase first, Phase last) {
+        header.setLength(0);
+        for (int i = first.ordinal(); i <= last.ordinal(); i++) {
+            Phase phase = PHASES[i];
+            if (header.length() > 0) {
+                header.append(", ");
+            }
+            header.append(phase.getMetricName()).append(";dur=");
+            long micros = durations[phase.ordinal()] / 1_000;
+            long fraction = micros % 1_000;
+            header.append(micros / 1_000).append('.');
+            if (fraction < 100) {
+                header.append('0');
+            }
+            if (fraction < 10) {
+                header.append('0');
+            }
+            header.append(fraction);
+        }
+        return header.toString();
+    }
+}
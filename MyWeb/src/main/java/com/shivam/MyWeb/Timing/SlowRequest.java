@@ -0,0 +1,48 @@
+package com.shivam.MyWeb.Timing;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class SlowRequest {
+
+    private long recordedAt;
+    private String method;
+    private String uri;
+    private int status;
+    private Map<String, Double> phasesMillis;
+
+    // No-argument constructor
+    public SlowRequest() {}
+
+    // All-argument constructor
+    public SlowRequest(long recordedAt, String method, String uri, int status, long[] durations) {
+        this.recordedAt = recordedAt;
+        this.method = method;
+        this.uri = uri;
+        this.status = status;
+        this.phasesMillis = new LinkedHashMap<>();
+        for (ServerTimings.Phase phase : ServerTimings.PHASES) {
+            phasesMillis.put(phase.getMetricName(), durations[phase.ordinal()] / 1e6);
+        }
+    }
+
+    // Getters and setters
+    public long getRecordedAt() { return recordedAt; }
+    public void setRecordedAt(long recordedAt) { this.recordedAt = recordedAt; }
+
+    public String getMethod() { return method; }
+    public void setMethod(String method) { this.method = method; }
+
+    public String getUri() { return uri; }
+    public void setUri(String uri) { this.uri = uri; }
+
+    public int getStatus() { return status; }
+    public void setStatus(int status) { this.status = status; }
+
+    public Map<String, Double> getPhasesMillis() { return phasesMillis; }
+    public void setPhasesMillis(Map<String, Double> phasesMillis) { this.phasesMillis = phasesMillis; }
+
+    public double getTotalMillis() {
+        return phasesMillis == null ? 0 : phasesMillis.getOrDefault(ServerTimings.Phase.TOTAL.getMetricName(), 0.0);
+    }
+}
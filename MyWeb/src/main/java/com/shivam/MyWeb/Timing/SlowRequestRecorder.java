@@ -0,0 +1,60 @@
+package com.shivam.MyWeb.Timing;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Fixed-size ring of sampled request timings. Slots are preallocated and overwritten oldest first.
+ * Unsampled requests cost one random draw; sampled ones take a short lock to copy their timings in.
+ */
+public class SlowRequestRecorder {
+
+    private final double sampleRate;
+    private final long[][] durations;
+    private final String[] methods;
+    private final String[] uris;
+    private final int[] statuses;
+    private final long[] recordedAt;
+    private long written;
+
+    public SlowRequestRecorder(TimingProperties properties) {
+        int size = Math.max(1, properties.getRingSize());
+        this.sampleRate = properties.getSampleRate();
+        this.durations = new long[size][ServerTimings.PHASES.length];
+        this.methods = new String[size];
+        this.uris = new String[size];
+        this.statuses = new int[size];
+        this.recordedAt = new long[size];
+    }
+
+    public void maybeRecord(String method, String uri, int status, ServerTimings timings) {
+        if (sampleRate <= 0 || ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return;
+        }
+        synchronized (this) {
+            int slot = (int) (written++ % durations.length);
+            System.arraycopy(timings.durations(), 0, durations[slot], 0, durations[slot].length);
+            methods[slot] = method;
+            uris[slot] = uri;
+            statuses[slot] = status;
+            recordedAt[slot] = System.currentTimeMillis();
+        }
+    }
+
+    /**
+     * The slowest sampled requests still in the ring, slowest first.
+     */
+    public List<SlowRequest> slowest(int limit) {
+        List<SlowRequest> recorded = new ArrayList<>();
+        synchronized (this) {
+            int filled = (int) Math.min(written, durations.length);
+            for (int slot = 0; slot < filled; slot++) {
+                recorded.add(new SlowRequest(recordedAt[slot], methods[slot], uris[slot], statuses[slot], durations[slot]));
+            }
+        }
+        recorded.sort(Comparator.comparingDouble(SlowRequest::getTotalMillis).reversed());
+        return recorded.subList(0, Math.min(limit, recorded.size()));
+    }
+}
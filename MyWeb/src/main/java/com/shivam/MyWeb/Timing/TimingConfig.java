@@ -0,0 +1,36 @@
+package com.shivam.MyWeb.Timing;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@EnableConfigurationProperties(TimingProperties.class)
+@ConditionalOnProperty(prefix = "users.timing", name = "enabled", matchIfMissing = true)
+public class TimingConfig implements WebMvcConfigurer {
+
+    @Bean
+    public SlowRequestRecorder slowRequestRecorder(TimingProperties properties) {
+        return new SlowRequestRecorder(properties);
+    }
+
+    @Bean
+    public FilterRegistrationBean<ServerTimingFilter> serverTimingFilter(SlowRequestRecorder slowRequestRecorder) {
+        FilterRegistrationBean<ServerTimingFilter> registration =
+                new FilterRegistrationBean<>(new ServerTimingFilter(slowRequestRecorder));
+        registration.addUrlPatterns("/users", "/users/*");
+        // Right after admission control, so shed requests are not timed
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return registration;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new ServerTimingInterceptor()).addPathPatterns("/users", "/users/**");
+    }
+}
@@ -0,0 +1,27 @@
+package com.shivam.MyWeb.Timing;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings for per-request phase timing on the /users routes (prefix {@code users.timing}).
+ */
+@ConfigurationProperties(prefix = "users.timing")
+public class TimingProperties {
+
+    private boolean enabled = true;
+
+    // Fraction of requests copied into the slow-request ring buffer; 0 turns sampling off
+    private double sampleRate = 0.01;
+
+    // Number of sampled requests kept
+    private int ringSize = 256;
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public double getSampleRate() { return sampleRate; }
+    public void setSampleRate(double sampleRate) { this.sampleRate = sampleRate; }
+
+    public int getRingSize() { return ringSize; }
+    public void setRingSize(int ringSize) { this.ringSize = ringSize; }
+}
@@ -0,0 +1,4 @@
+INSERT INTO users (id, name, email) VALUES
+    (1, 'Shivam', 'shivam@gmail.com'),
+    (2, 'Raj', 'raj@gmail.com'),
+    (3, 'Rajesh', 'rajesh@gmail.com');
@@ -0,0 +1,5 @@
+CREATE TABLE IF NOT EXISTS users (
+    id    INT PRIMARY KEY,
+    name  VARCHAR(255),
+    email VARCHAR(255)
+);
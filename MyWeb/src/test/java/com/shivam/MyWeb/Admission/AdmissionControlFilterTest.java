@@ -0,0 +1,122 @@
+package com.shivam.MyWeb.Admission;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdmissionControlFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private AdmissionControlFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        AdmissionProperties properties = new AdmissionProperties();
+        properties.setRetryAfterSeconds(2);
+        properties.setRead(new AdmissionProperties.Limit(2, 1, 4, 50));
+        properties.setBulk(new AdmissionProperties.Limit(2, 1, 4, 250));
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new AdmissionControlFilter(properties, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Should classify routes into read, write and bulk")
+    void testRouteClassification() {
+        assertEquals(RouteClass.READ, RouteClass.of(new MockHttpServletRequest("GET", "/users/1")));
+        assertEquals(RouteClass.BULK, RouteClass.of(new MockHttpServletRequest("GET", "/users")));
+        assertEquals(RouteClass.BULK, RouteClass.of(new MockHttpServletRequest("POST", "/users/lookup")));
+        assertEquals(RouteClass.BULK, RouteClass.of(new MockHttpServletRequest("GET", "/users/export")));
+        assertEquals(RouteClass.WRITE, RouteClass.of(new MockHttpServletRequest("POST", "/users")));
+        assertEquals(RouteClass.WRITE, RouteClass.of(new MockHttpServletRequest("DELETE", "/users/1")));
+    }
+
+    @Test
+    @DisplayName("Should admit requests under the limit")
+    void testAdmitsUnderLimit() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/users/1"), response, new MockFilterChain());
+
+        assertEquals(200, response.getStatus());
+        assertEquals(0, filter.getLimiter(RouteClass.READ).getInFlight());
+        assertEquals(1.0, meterRegistry.get("users.admission.requests")
+            .tag("class", "read").tag("outcome", "admitted").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should shed requests over the limit with 503 and Retry-After")
+    void testShedsOverLimit() throws Exception {
+        AimdLimiter readLimiter = filter.getLimiter(RouteClass.READ);
+        assertTrue(readLimiter.tryAcquire());
+        assertTrue(readLimiter.tryAcquire());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/users/1"), response, new MockFilterChain());
+
+        assertEquals(503, response.getStatus());
+        assertEquals("2", response.getHeader(HttpHeaders.RETRY_AFTER));
+        assertEquals(1.0, meterRegistry.get("users.admission.requests")
+            .tag("class", "read").tag("outcome", "shed").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should shed bulk requests while reads are under pressure")
+    void testReadsPrioritizedOverBulk() throws Exception {
+        AimdLimiter readLimiter = filter.getLimiter(RouteClass.READ);
+        readLimiter.tryAcquire();
+        readLimiter.tryAcquire();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/users"), response, new MockFilterChain());
+
+        assertEquals(503, response.getStatus());
+        assertEquals(0, filter.getLimiter(RouteClass.BULK).getInFlight());
+    }
+
+    @Test
+    @DisplayName("Should shrink the limit on slow requests and grow it on fast ones")
+    void testLimitAdaptsToLatency() {
+        AimdLimiter limiter = new AimdLimiter(10, 1, 20, 1_000_000L, 0.5);
+
+        limiter.tryAcquire();
+        limiter.release(5_000_000L);
+        assertEquals(5, limiter.getLimit());
+
+        for (int i = 0; i < 50; i++) {
+            for (int j = 0; j < limiter.getLimit(); j++) {
+                limiter.tryAcquire();
+            }
+            while (limiter.getInFlight() > 0) {
+                limiter.release(100_000L);
+            }
+        }
+        assertTrue(limiter.getLimit() > 5);
+        assertTrue(limiter.getLimit() <= 20);
+    }
+
+    @Test
+    @DisplayName("Should back off once for slow requests that overlapped the previous backoff")
+    void testOneDecreasePerWindow() {
+        AimdLimiter limiter = new AimdLimiter(16, 1, 20, 1_000_000L, 0.5);
+        for (int i = 0; i < 4; i++) {
+            limiter.tryAcquire();
+        }
+
+        // Three requests of 5 ms each, all in flight when the first one cut the limit
+        limiter.release(5_000_000L, 100_000_000L);
+        limiter.release(5_000_000L, 101_000_000L);
+        limiter.release(5_000_000L, 102_000_000L);
+        assertEquals(8, limiter.getLimit());
+
+        // Started after the cut, so it sees the reduced limit and may cut again
+        limiter.release(5_000_000L, 106_000_000L);
+        assertEquals(4, limiter.getLimit());
+    }
+}
@@ -0,0 +1,176 @@
+package com.shivam.MyWeb.Cache;
+
+import com.shivam.MyWeb.Model.User;
+import com.shivam.MyWeb.Repository.InMemoryUserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserCacheTest {
+
+    private CountingRepository repository;
+    private SimpleMeterRegistry meterRegistry;
+    private UserCache userCache;
+
+    @BeforeEach
+    void setUp() {
+        repository = new CountingRepository();
+        meterRegistry = new SimpleMeterRegistry();
+        UserCacheProperties properties = new UserCacheProperties();
+        properties.setEnabled(true);
+        userCache = new UserCache(repository, properties, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Should load a user once and serve repeats from the cache")
+    void testReadThrough() {
+        // Act
+        userCache.get(1);
+        userCache.get(1);
+        User user = userCache.get(1);
+
+        // Assert
+        assertEquals("Shivam", user.getName());
+        assertEquals(1, repository.loads.get());
+        assertEquals(2.0, meterRegistry.get("cache.gets").tag("cache", "users").tag("result", "hit")
+            .functionCounter().count());
+    }
+
+    @Test
+    @DisplayName("Should reload after invalidation")
+    void testInvalidate() {
+        // Arrange
+        userCache.get(2);
+        repository.update(new User(2, "UpdatedRaj", "updated.raj@test.com"));
+
+        // Act
+        userCache.invalidate(2);
+
+        // Assert
+        assertEquals("UpdatedRaj", userCache.get(2).getName());
+        assertEquals(2, repository.loads.get());
+    }
+
+    @Test
+    @DisplayName("Should keep request order and nulls in bulk gets")
+    void testGetAll() {
+        // Act
+        List<User> users = userCache.getAll(List.of(3, 4242, 1));
+
+        // Assert
+        assertEquals(3, users.get(0).getId());
+        assertNull(users.get(1));
+        assertEquals(1, users.get(2).getId());
+    }
+
+    @Test
+    @DisplayName("Should run a single load for concurrent misses on one id")
+    void testNoStampede() throws Exception {
+        // Arrange
+        int threads = 8;
+        repository.slowLoad = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        // Act
+        List<Future<User>> results = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            results.add(executor.submit(() -> userCache.get(3)));
+        }
+        Thread.sleep(100);
+        repository.slowLoad.countDown();
+
+        // Assert
+        for (Future<User> result : results) {
+            assertEquals(3, result.get(5, TimeUnit.SECONDS).getId());
+        }
+        executor.shutdown();
+        assertEquals(1, repository.loads.get());
+    }
+
+    @Test
+    @DisplayName("Should not cache a bulk-loaded user deleted while the load was running")
+    void testGetAllRacingDelete() throws Exception {
+        // Arrange
+        repository.bulkRead = new CountDownLatch(1);
+        repository.slowBulkLoad = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Future<List<User>> lookup = executor.submit(() -> userCache.getAll(List.of(2, 3)));
+        assertTrue(repository.bulkRead.await(5, TimeUnit.SECONDS));
+
+        // Act: the bulk load has read user 2; delete it the way UserService does
+        repository.delete(2);
+        userCache.invalidate(2);
+        repository.slowBulkLoad.countDown();
+        List<User> users = lookup.get(5, TimeUnit.SECONDS);
+        executor.shutdown();
+
+        // Assert
+        assertEquals(2, users.get(0).getId());
+        assertNull(userCache.get(2));
+        assertEquals(3, userCache.get(3).getId());
+    }
+
+    @Test
+    @DisplayName("Should go straight to the repository when disabled")
+    void testDisabled() {
+        // Arrange
+        UserCache disabled = new UserCache(repository, new UserCacheProperties(), meterRegistry);
+
+        // Act
+        disabled.get(1);
+        disabled.get(1);
+
+        // Assert
+        assertNull(disabled.getCache());
+        assertEquals(2, repository.loads.get());
+    }
+
+    private static class CountingRepository extends InMemoryUserRepository {
+
+        final AtomicInteger loads = new AtomicInteger();
+        volatile CountDownLatch slowLoad;
+        volatile CountDownLatch bulkRead;
+        volatile CountDownLatch slowBulkLoad;
+
+        @Override
+        public User findById(int id) {
+            loads.incrementAndGet();
+            CountDownLatch latch = slowLoad;
+            if (latch != null) {
+                try {
+                    latch.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return super.findById(id);
+        }
+
+        // Reads the store first, then signals bulkRead and waits for slowBulkLoad before returning
+        @Override
+        public List<User> findAllById(List<Integer> ids) {
+            List<User> found = super.findAllById(ids);
+            if (bulkRead != null) {
+                bulkRead.countDown();
+                try {
+                    slowBulkLoad.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return found;
+        }
+    }
+}
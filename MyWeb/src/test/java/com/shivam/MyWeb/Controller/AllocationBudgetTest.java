@@ -0,0 +1,205 @@
+package com.shivam.MyWeb.Controller;
+
+import com.shivam.MyWeb.Model.User;
+import com.shivam.MyWeb.Service.UserService;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedThread;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Drives each UserController route under Java Flight Recorder and fails when the bytes allocated per
+ * request on Tomcat worker threads exceed the budget in allocation-budgets.properties.
+ *
+ * The per-thread allocation counters (jdk.ThreadAllocationStatistics) are read at the start and end of
+ * the recording, so the figure is exact rather than sampled. Each route is warmed up first so the JIT has
+ * settled. When a change legitimately moves a number, update the budget file with the value from the
+ * failure message (every measurement is also logged at debug level).
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class AllocationBudgetTest {
+
+    private static final Logger log = LoggerFactory.getLogger(AllocationBudgetTest.class);
+
+    private static final int WARMUP_REQUESTS = 2_000;
+    private static final int MEASURED_REQUESTS = 1_000;
+    private static final int FIRST_ID = 3_000_000;
+
+    private static final Properties budgets = new Properties();
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserService userService;
+
+    private final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    private String baseUrl;
+
+    @BeforeAll
+    static void loadBudgets() throws IOException {
+        try (InputStream in = AllocationBudgetTest.class.getResourceAsStream("/allocation-budgets.properties")) {
+            assertNotNull(in, "allocation-budgets.properties is missing");
+            budgets.load(in);
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        baseUrl = "http://localhost:" + port;
+    }
+
+    @Test
+    @DisplayName("GET /users/{id} stays within its allocation budget")
+    void testGetUserById() throws Exception {
+        assertWithinBudget("get-user", i -> get("/users/" + (1 + i % 3)));
+    }
+
+    @Test
+    @DisplayName("GET /users stays within its allocation budget")
+    void testGetAllUsers() throws Exception {
+        assertWithinBudget("get-all-users", i -> get("/users"));
+    }
+
+    @Test
+    @DisplayName("GET /users?ids= stays within its allocation budget")
+    void testGetUsersByIds() throws Exception {
+        assertWithinBudget("get-users-by-ids", i -> get("/users?ids=1,2,3,99999"));
+    }
+
+    @Test
+    @DisplayName("POST /users/lookup stays within its allocation budget")
+    void testLookupUsers() throws Exception {
+        assertWithinBudget("lookup-users", i -> json("POST", "/users/lookup", "[1,2,3,99999]"));
+    }
+
+    @Test
+    @DisplayName("POST /users stays within its allocation budget")
+    void testAddUser() throws Exception {
+        try {
+            assertWithinBudget("add-user", i -> json("POST", "/users", userJson(FIRST_ID + i, "Alloc" + i)));
+        } finally {
+            for (int i = 0; i < WARMUP_REQUESTS + MEASURED_REQUESTS; i++) {
+                userService.deleteUser(FIRST_ID + i);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("PUT /users stays within its allocation budget")
+    void testUpdateUser() throws Exception {
+        assertWithinBudget("update-user", i -> json("PUT", "/users", userJson(3, "Rajesh")));
+    }
+
+    @Test
+    @DisplayName("DELETE /users/{id} stays within its allocation budget")
+    void testDeleteUser() throws Exception {
+        for (int i = 0; i < WARMUP_REQUESTS + MEASURED_REQUESTS; i++) {
+            userService.addUser(new User(FIRST_ID + i, "Doomed" + i, "doomed@test.com"));
+        }
+        assertWithinBudget("delete-user", i -> request("DELETE", "/users/" + (FIRST_ID + i), null));
+    }
+
+    private void assertWithinBudget(String route, IntFunction<HttpRequest> requests) throws Exception {
+        String budget = budgets.getProperty(route);
+        assertNotNull(budget, "No allocation budget for " + route);
+
+        for (int i = 0; i < WARMUP_REQUESTS; i++) {
+            send(requests.apply(i));
+        }
+
+        Path dump = Files.createTempFile("allocation-" + route, ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("jdk.ThreadAllocationStatistics").with("period", "everyChunk");
+            recording.start();
+            for (int i = WARMUP_REQUESTS; i < WARMUP_REQUESTS + MEASURED_REQUESTS; i++) {
+                send(requests.apply(i));
+            }
+            recording.stop();
+            recording.dump(dump);
+
+            long bytesPerRequest = workerAllocatedBytes(dump) / MEASURED_REQUESTS;
+            log.debug("Allocation {}: {} bytes/request (budget {})", route, bytesPerRequest, budget);
+            assertTrue(bytesPerRequest <= Long.parseLong(budget),
+                route + " allocated " + bytesPerRequest + " bytes/request, budget is " + budget);
+        } finally {
+            Files.deleteIfExists(dump);
+        }
+    }
+
+    // Sum over Tomcat worker threads of (last - first) cumulative allocation counter
+    private static long workerAllocatedBytes(Path dump) throws IOException {
+        Map<Long, long[]> firstAndLast = new HashMap<>();
+        for (RecordedEvent event : RecordingFile.readAllEvents(dump)) {
+            if (!"jdk.ThreadAllocationStatistics".equals(event.getEventType().getName())) {
+                continue;
+            }
+            RecordedThread thread = event.getThread("thread");
+            if (thread == null || thread.getJavaName() == null || !thread.getJavaName().contains("-exec-")) {
+                continue;
+            }
+            long allocated = event.getLong("allocated");
+            firstAndLast.merge(thread.getJavaThreadId(), new long[] {allocated, allocated},
+                (seen, next) -> new long[] {Math.min(seen[0], next[0]), Math.max(seen[1], next[1])});
+        }
+        return firstAndLast.values().stream().mapToLong(range -> range[1] - range[0]).sum();
+    }
+
+    private void send(HttpRequest request) {
+        try {
+            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+            assertTrue(response.statusCode() < 300, request.method() + " " + request.uri() + " -> " + response.statusCode());
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        }
+    }
+
+    private HttpRequest get(String path) {
+        return request("GET", path, null);
+    }
+
+    private HttpRequest json(String method, String path, String body) {
+        return request(method, path, body);
+    }
+
+    private HttpRequest request(String method, String path, String body) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path));
+        if (body == null) {
+            return builder.method(method, HttpRequest.BodyPublishers.noBody()).build();
+        }
+        return builder.header("Content-Type", "application/json")
+            .method(method, HttpRequest.BodyPublishers.ofString(body))
+            .build();
+    }
+
+    private static String userJson(int id, String name) {
+        return "{\"id\":" + id + ",\"name\":\"" + name + "\",\"email\":\"" + name.toLowerCase() + "@test.com\"}";
+    }
+}
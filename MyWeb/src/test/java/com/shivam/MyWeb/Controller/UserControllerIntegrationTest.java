@@ -1,6 +1,7 @@
 package com.shivam.MyWeb.Controller;
 
 import com.shivam.MyWeb.Model.User;
+import com.shivam.MyWeb.Model.UserLookupResult;
 import com.shivam.MyWeb.Service.UserService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -79,6 +80,105 @@ class UserControllerIntegrationTest {
         assertTrue("Shivam".equals(response.getBody().getName()) || "UpdatedShivam".equals(response.getBody().getName()));
     }
 
+    @Test
+    @DisplayName("Should get a page of users via REST endpoint")
+    void testGetUsersPageEndpoint() {
+        // Act
+        ResponseEntity<List<User>> response = restTemplate.exchange(
+            baseUrl + "/users?page=0&size=2",
+            HttpMethod.GET,
+            null,
+            new org.springframework.core.ParameterizedTypeReference<List<User>>() {}
+        );
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertEquals(2, response.getBody().size());
+        assertEquals(1, response.getBody().get(0).getId());
+    }
+
+    @Test
+    @DisplayName("Should reject a page whose offset does not fit in an int")
+    void testGetUsersPageOffsetOverflow() {
+        // Act
+        ResponseEntity<String> response = restTemplate.getForEntity(
+            baseUrl + "/users?page=" + Integer.MAX_VALUE + "&size=1000", String.class);
+
+        // Assert
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+    }
+
+    @Test
+    @DisplayName("Should get many users by ID via REST endpoint")
+    void testGetUsersByIdsEndpoint() {
+        // Act
+        ResponseEntity<List<UserLookupResult>> response = restTemplate.exchange(
+            baseUrl + "/users?ids=2,99999,1",
+            HttpMethod.GET,
+            null,
+            new org.springframework.core.ParameterizedTypeReference<List<UserLookupResult>>() {}
+        );
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        List<UserLookupResult> results = response.getBody();
+        assertNotNull(results);
+        assertEquals(3, results.size());
+        assertTrue(results.get(0).isFound());
+        assertEquals(2, results.get(0).getUser().getId());
+        assertEquals(99999, results.get(1).getId());
+        assertFalse(results.get(1).isFound());
+        assertNull(results.get(1).getUser());
+        assertEquals(1, results.get(2).getUser().getId());
+    }
+
+    @Test
+    @DisplayName("Should look up many users by ID via POST endpoint")
+    void testLookupUsersEndpoint() {
+        // Arrange
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        HttpEntity<List<Integer>> request = new HttpEntity<>(List.of(3, 3, 88888), headers);
+
+        // Act
+        ResponseEntity<List<UserLookupResult>> response = restTemplate.exchange(
+            baseUrl + "/users/lookup",
+            HttpMethod.POST,
+            request,
+            new org.springframework.core.ParameterizedTypeReference<List<UserLookupResult>>() {}
+        );
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        List<UserLookupResult> results = response.getBody();
+        assertNotNull(results);
+        assertEquals(3, results.size());
+        assertEquals(3, results.get(0).getUser().getId());
+        assertEquals(3, results.get(1).getUser().getId());
+        assertFalse(results.get(2).isFound());
+    }
+
+    @Test
+    @DisplayName("Should reject a lookup containing a null ID")
+    void testLookupUsersRejectsNullId() {
+        // Arrange
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        HttpEntity<String> request = new HttpEntity<>("[1,null]", headers);
+
+        // Act
+        ResponseEntity<String> response = restTemplate.exchange(
+            baseUrl + "/users/lookup",
+            HttpMethod.POST,
+            request,
+            String.class
+        );
+
+        // Assert
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+    }
+
     @Test
     @DisplayName("Should add new user via REST endpoint")
     void testAddUserEndpoint() {
@@ -96,10 +196,62 @@ class UserControllerIntegrationTest {
         );
 
         // Assert
-        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(HttpStatus.CREATED, response.getStatusCode());
+        assertTrue(response.getHeaders().getLocation().toString().endsWith("/users/" + testUser.getId()));
         assertEquals(initialSize + 1, userService.getAllUsers().size());
         assertTrue(userService.getAllUsers().stream()
             .anyMatch(u -> u.getId() == testUser.getId()));
+
+        // Clean up so the id is free for other tests
+        userService.deleteUser(testUser.getId());
+    }
+
+    @Test
+    @DisplayName("Should allocate an id when none is sent")
+    void testAddUserAllocatesId() {
+        // Arrange
+        User newUser = new User(0, "AllocatedUser", "allocated@test.com");
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        HttpEntity<User> request = new HttpEntity<>(newUser, headers);
+
+        // Act
+        ResponseEntity<User> response = restTemplate.postForEntity(
+            baseUrl + "/users",
+            request,
+            User.class
+        );
+
+        // Assert
+        assertEquals(HttpStatus.CREATED, response.getStatusCode());
+        int allocatedId = response.getBody().getId();
+        assertTrue(allocatedId > 0);
+        assertTrue(response.getHeaders().getLocation().toString().endsWith("/users/" + allocatedId));
+        assertEquals("AllocatedUser", userService.getUser(allocatedId).getName());
+
+        // Clean up
+        userService.deleteUser(allocatedId);
+    }
+
+    @Test
+    @DisplayName("Should reject a user whose id already exists")
+    void testAddDuplicateUserEndpoint() {
+        // Arrange
+        User duplicate = new User(2, "DuplicateRaj", "duplicate@test.com");
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        HttpEntity<User> request = new HttpEntity<>(duplicate, headers);
+
+        // Act
+        ResponseEntity<String> response = restTemplate.postForEntity(
+            baseUrl + "/users",
+            request,
+            String.class
+        );
+
+        // Assert
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+        assertEquals("Raj", userService.getUser(2).getName());
     }
 
     @Test
@@ -167,7 +319,7 @@ class UserControllerIntegrationTest {
             createRequest, 
             Void.class
         );
-        assertEquals(HttpStatus.OK, createResponse.getStatusCode());
+        assertEquals(HttpStatus.CREATED, createResponse.getStatusCode());
 
         // GET - Verify creation
         ResponseEntity<User> getResponse = restTemplate.getForEntity(
@@ -0,0 +1,182 @@
+package com.shivam.MyWeb.Controller;
+
+import com.shivam.MyWeb.Export.UserExporter;
+import com.shivam.MyWeb.Model.User;
+import com.shivam.MyWeb.Service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class UserExportIntegrationTest {
+
+    private static final Logger log = LoggerFactory.getLogger(UserExportIntegrationTest.class);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserExporter userExporter;
+
+    private String exportUrl;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        exportUrl = "http://localhost:" + port + "/users/export";
+        userExporter.refresh();
+    }
+
+    @Test
+    @DisplayName("Should download every user as NDJSON")
+    void testDownloadExport() {
+        // Act
+        ResponseEntity<String> response = restTemplate.getForEntity(exportUrl, String.class);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("application/x-ndjson", response.getHeaders().getContentType().toString());
+        assertEquals("bytes", response.getHeaders().getFirst(HttpHeaders.ACCEPT_RANGES));
+        assertNotNull(response.getHeaders().getETag());
+        List<String> lines = response.getBody().lines().toList();
+        assertEquals(userService.getAllUsers().size(), lines.size());
+        assertTrue(lines.get(0).startsWith("{\"id\":1,"));
+    }
+
+    @Test
+    @DisplayName("Should serve a byte range and refuse one past the end")
+    void testRangeRequests() {
+        // Arrange
+        String full = restTemplate.getForObject(exportUrl, String.class);
+
+        // Act
+        ResponseEntity<String> partial = get("bytes=5-14", null);
+        ResponseEntity<String> tail = get("bytes=-10", null);
+        ResponseEntity<String> outside = get("bytes=" + full.length() + "-", null);
+
+        // Assert
+        assertEquals(HttpStatus.PARTIAL_CONTENT, partial.getStatusCode());
+        assertEquals(full.substring(5, 15), partial.getBody());
+        assertEquals("bytes 5-14/" + full.length(), partial.getHeaders().getFirst(HttpHeaders.CONTENT_RANGE));
+        assertEquals(full.substring(full.length() - 10), tail.getBody());
+        assertEquals(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE, outside.getStatusCode());
+        assertEquals("bytes */" + full.length(), outside.getHeaders().getFirst(HttpHeaders.CONTENT_RANGE));
+    }
+
+    @Test
+    @DisplayName("Should send the whole new file when a resumed download names an old version")
+    void testIfRangeAfterRefresh() throws Exception {
+        // Arrange
+        String oldEtag = restTemplate.getForEntity(exportUrl, String.class).getHeaders().getETag();
+        userService.addUser(new User(4242, "Exported", "exported@test.com"));
+        userExporter.refresh();
+
+        try {
+            // Act
+            ResponseEntity<String> resumed = get("bytes=10-", oldEtag);
+            ResponseEntity<String> notModified = restTemplate.exchange(exportUrl, HttpMethod.GET,
+                new HttpEntity<>(ifNoneMatch(resumed.getHeaders().getETag())), String.class);
+
+            // Assert
+            assertEquals(HttpStatus.OK, resumed.getStatusCode());
+            assertNotEquals(oldEtag, resumed.getHeaders().getETag());
+            assertTrue(resumed.getBody().contains("{\"id\":4242,\"name\":\"Exported\""));
+            assertEquals(HttpStatus.NOT_MODIFIED, notModified.getStatusCode());
+        } finally {
+            // Clean up
+            userService.deleteUser(4242);
+        }
+    }
+
+    @Test
+    @DisplayName("Should report server CPU per download for the export and for GET /users")
+    void testExportCpuCost() throws Exception {
+        // Arrange
+        int count = 50_000;
+        int downloads = 20;
+        List<User> batch = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            batch.add(new User(3_000_000 + i, "Export" + i, "export" + i + "@test.com"));
+        }
+        userService.addUsers(batch);
+        userExporter.refresh();
+        String listUrl = "http://localhost:" + port + "/users";
+        restTemplate.getForObject(exportUrl, byte[].class);
+        restTemplate.getForObject(listUrl, byte[].class);
+
+        try {
+            // Act
+            long exportCpu = cpuTime();
+            long exportBytes = 0;
+            for (int i = 0; i < downloads; i++) {
+                exportBytes += restTemplate.getForObject(exportUrl, byte[].class).length;
+            }
+            exportCpu = cpuTime() - exportCpu;
+
+            long listCpu = cpuTime();
+            for (int i = 0; i < downloads; i++) {
+                restTemplate.getForObject(listUrl, byte[].class);
+            }
+            listCpu = cpuTime() - listCpu;
+
+            // Assert
+            log.debug("{} users: GET /users/export {} us CPU per download, GET /users {} us CPU (server threads)",
+                count, exportCpu / 1_000 / downloads, listCpu / 1_000 / downloads);
+            assertTrue(exportBytes / downloads > count * 40L);
+        } finally {
+            // Clean up
+            batch.forEach(u -> userService.deleteUser(u.getId()));
+        }
+    }
+
+    private ResponseEntity<String> get(String range, String ifRange) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RANGE, range);
+        if (ifRange != null) {
+            headers.set(HttpHeaders.IF_RANGE, ifRange);
+        }
+        return restTemplate.exchange(exportUrl, HttpMethod.GET, new HttpEntity<>(headers), String.class);
+    }
+
+    private static HttpHeaders ifNoneMatch(String etag) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setIfNoneMatch(etag);
+        return headers;
+    }
+
+    // CPU used so far by Tomcat's connector threads, so the client's share is left out
+    private static long cpuTime() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        long total = 0;
+        for (ThreadInfo thread : threads.getThreadInfo(threads.getAllThreadIds())) {
+            if (thread != null && thread.getThreadName().startsWith("http-nio-")) {
+                total += Math.max(0, threads.getThreadCpuTime(thread.getThreadId()));
+            }
+        }
+        return total;
+    }
+}
@@ -0,0 +1,113 @@
+package com.shivam.MyWeb.Controller;
+
+import com.shivam.MyWeb.Model.User;
+import com.shivam.MyWeb.Model.UserLookupResult;
+import com.shivam.MyWeb.Service.UserService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares one multi-get call against the same ids fetched with sequential GET /users/{id} calls.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class UserLookupBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(UserLookupBenchmarkTest.class);
+
+    private static final int FIRST_ID = 50_000;
+    private static final int LOOKUP_SIZE = 200;
+    private static final int ROUNDS = 5;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private UserService userService;
+
+    private String baseUrl;
+    private List<Integer> ids;
+
+    @BeforeEach
+    void setUp() {
+        baseUrl = "http://localhost:" + port;
+        ids = new ArrayList<>();
+        for (int i = 0; i < LOOKUP_SIZE; i++) {
+            int id = FIRST_ID + i;
+            userService.addUser(new User(id, "BenchUser" + id, "bench" + id + "@test.com"));
+            ids.add(id);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        for (Integer id : ids) {
+            userService.deleteUser(id);
+        }
+    }
+
+    @Test
+    @DisplayName("Multi-get should beat sequential single GETs")
+    void testMultiGetVersusSequentialGets() {
+        String idParam = ids.stream().map(String::valueOf).collect(Collectors.joining(","));
+
+        // Warm up both paths before timing
+        sequentialGets();
+        multiGet(idParam);
+
+        long sequentialNanos = Long.MAX_VALUE;
+        long multiGetNanos = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            sequentialGets();
+            sequentialNanos = Math.min(sequentialNanos, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            List<UserLookupResult> results = multiGet(idParam);
+            multiGetNanos = Math.min(multiGetNanos, System.nanoTime() - start);
+            assertEquals(LOOKUP_SIZE, results.size());
+            assertTrue(results.stream().allMatch(UserLookupResult::isFound));
+        }
+
+        log.debug("Lookup of {} users: sequential GETs {} us, multi-get {} us",
+            LOOKUP_SIZE, sequentialNanos / 1_000, multiGetNanos / 1_000);
+        assertTrue(multiGetNanos < sequentialNanos, String.format(
+            "Lookup of %d users: sequential GETs %.2f ms, multi-get %.2f ms",
+            LOOKUP_SIZE, sequentialNanos / 1e6, multiGetNanos / 1e6));
+    }
+
+    private void sequentialGets() {
+        for (Integer id : ids) {
+            ResponseEntity<User> response = restTemplate.getForEntity(baseUrl + "/users/" + id, User.class);
+            assertEquals((int) id, response.getBody().getId());
+        }
+    }
+
+    private List<UserLookupResult> multiGet(String idParam) {
+        return restTemplate.exchange(
+            baseUrl + "/users?ids=" + idParam,
+            HttpMethod.GET,
+            null,
+            new ParameterizedTypeReference<List<UserLookupResult>>() {}
+        ).getBody();
+    }
+}
@@ -114,7 +114,7 @@ class EndToEndIntegrationTest {
             createRequest, 
             Void.class
         );
-        assertEquals(HttpStatus.OK, createResponse.getStatusCode());
+        assertEquals(HttpStatus.CREATED, createResponse.getStatusCode());
 
         // Read via REST
         ResponseEntity<User> getResponse = restTemplate.getForEntity(
@@ -0,0 +1,197 @@
+package com.shivam.MyWeb.Export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shivam.MyWeb.Model.User;
+import com.shivam.MyWeb.Repository.InMemoryUserRepository;
+import com.shivam.MyWeb.Service.UserChangeLog;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserExporterTest {
+
+    @TempDir
+    Path directory;
+
+    private final HookedRepository repository = new HookedRepository();
+    private final UserChangeLog changeLog = new UserChangeLog();
+    private UserExporter exporter;
+
+    @AfterEach
+    void tearDown() throws Exception {
+        exporter.destroy();
+    }
+
+    @Test
+    @DisplayName("Should export every user as NDJSON in id order")
+    void testFullNdjsonExport() throws Exception {
+        // Arrange
+        exporter = exporter(ExportProperties.Format.NDJSON);
+
+        // Act
+        UserExport export = exporter.refresh();
+
+        // Assert
+        assertEquals("""
+            {"id":1,"name":"Shivam","email":"shivam@gmail.com"}
+            {"id":2,"name":"Raj","email":"raj@gmail.com"}
+            {"id":3,"name":"Rajesh","email":"rajesh@gmail.com"}
+            """, read(export));
+        assertEquals(Files.size(export.getFile()), export.getLength());
+    }
+
+    @Test
+    @DisplayName("Should page through a store larger than one lookup batch")
+    void testFullExportSpansPages() throws Exception {
+        // Arrange
+        for (int id = 4; id <= 2500; id++) {
+            repository.insert(new User(id, "User" + id, null));
+        }
+
+        // Act
+        exporter = exporter(ExportProperties.Format.CSV);
+        String[] lines = read(exporter.current()).split("\n");
+
+        // Assert
+        assertEquals(2501, lines.length);
+        for (int id = 1; id <= 2500; id++) {
+            assertTrue(lines[id].startsWith(id + ","), "line " + id + " is " + lines[id]);
+        }
+    }
+
+    @Test
+    @DisplayName("Should not skip a user when an earlier one is deleted during a full export")
+    void testFullExportRacingDelete() throws Exception {
+        // Arrange
+        for (int id = 4; id <= 2500; id++) {
+            repository.insert(new User(id, "User" + id, null));
+        }
+        repository.hookAfterId = 1000;
+        repository.hook = () -> change(() -> repository.delete(10), 10);
+
+        // Act
+        exporter = exporter(ExportProperties.Format.CSV);
+        String first = read(exporter.current());
+        String second = read(exporter.refresh());
+
+        // Assert
+        assertEquals(2501, first.split("\n").length);
+        assertTrue(first.contains("\n1001,User1001,\n"));
+        assertTrue(first.contains("\n10,User10,\n"));
+        assertEquals(2500, second.split("\n").length);
+        assertTrue(second.contains("\n1001,User1001,\n"));
+        assertFalse(second.contains("\n10,User10,\n"));
+    }
+
+    @Test
+    @DisplayName("Should rewrite only the changed users on refresh")
+    void testIncrementalNdjsonExport() throws Exception {
+        // Arrange
+        exporter = exporter(ExportProperties.Format.NDJSON);
+        UserExport first = exporter.refresh();
+
+        // Act
+        change(() -> repository.insert(new User(0, "Zero", null)), 0);
+        change(() -> repository.update(new User(2, "Raj \"R\"", "raj@test.com")), 2);
+        change(() -> repository.delete(3), 3);
+        change(() -> repository.insert(new User(7, "Seven", "seven@test.com")), 7);
+        UserExport second = exporter.refresh();
+
+        // Assert
+        assertEquals("""
+            {"id":0,"name":"Zero","email":null}
+            {"id":1,"name":"Shivam","email":"shivam@gmail.com"}
+            {"id":2,"name":"Raj \\"R\\"","email":"raj@test.com"}
+            {"id":7,"name":"Seven","email":"seven@test.com"}
+            """, read(second));
+        assertNotEquals(first.getEtag(), second.getEtag());
+        assertTrue(Files.exists(first.getFile()), "previous export must stay readable until the next refresh");
+    }
+
+    @Test
+    @DisplayName("Should keep the same export while the store is unchanged")
+    void testUnchangedStore() throws Exception {
+        // Arrange
+        exporter = exporter(ExportProperties.Format.NDJSON);
+        UserExport first = exporter.refresh();
+
+        // Act
+        UserExport second = exporter.refresh();
+
+        // Assert
+        assertSame(first, second);
+    }
+
+    @Test
+    @DisplayName("Should quote CSV fields and merge past multi-line values")
+    void testIncrementalCsvExport() throws Exception {
+        // Arrange
+        exporter = exporter(ExportProperties.Format.CSV);
+        change(() -> repository.update(new User(1, "Line\nBreak, Inc", "a@test.com")), 1);
+        exporter.refresh();
+
+        // Act
+        change(() -> repository.update(new User(2, "Raj", "raj@new.com")), 2);
+        UserExport export = exporter.refresh();
+
+        // Assert
+        assertEquals("""
+            id,name,email
+            1,"Line
+            Break, Inc",a@test.com
+            2,Raj,raj@new.com
+            3,Rajesh,rajesh@gmail.com
+            """, read(export));
+    }
+
+    private UserExporter exporter(ExportProperties.Format format) throws Exception {
+        ExportProperties properties = new ExportProperties();
+        properties.setFormat(format);
+        properties.setDirectory(directory.toString());
+        // After the first build on startup, refreshes are run by hand
+        properties.setRefreshInterval(Duration.ofHours(1));
+        UserExporter created = new UserExporter(repository, changeLog, new ObjectMapper().getFactory(), properties);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (created.current() == null && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        return created;
+    }
+
+    // Applies a write the way UserService does: store first, then the change log
+    private void change(Runnable write, int id) {
+        write.run();
+        changeLog.record(id);
+    }
+
+    // Runs hook once, just before the first page after hookAfterId is read
+    private static final class HookedRepository extends InMemoryUserRepository {
+
+        volatile int hookAfterId = Integer.MAX_VALUE;
+        volatile Runnable hook;
+
+        @Override
+        public List<User> findPageAfter(int lastId, int limit) {
+            Runnable pending = hook;
+            if (pending != null && lastId >= hookAfterId) {
+                hook = null;
+                pending.run();
+            }
+            return super.findPageAfter(lastId, limit);
+        }
+    }
+
+    private static String read(UserExport export) throws Exception {
+        return Files.readString(export.getFile(), StandardCharsets.UTF_8);
+    }
+}
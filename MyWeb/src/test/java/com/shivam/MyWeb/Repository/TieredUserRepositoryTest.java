@@ -0,0 +1,135 @@
+package com.shivam.MyWeb.Repository;
+
+import com.shivam.MyWeb.Model.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.springframework.util.unit.DataSize;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TieredUserRepositoryTest {
+
+    @TempDir
+    Path directory;
+
+    private TieredUserRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        TieringProperties properties = new TieringProperties();
+        properties.setIdleAfter(Duration.ZERO);
+        // Sweeps are run by hand
+        properties.setSweepInterval(Duration.ofHours(1));
+        properties.setDirectory(directory.toString());
+        properties.setChunkSize(DataSize.ofKilobytes(4));
+        repository = new TieredUserRepository(properties);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        repository.destroy();
+    }
+
+    @Test
+    @DisplayName("Should move idle users to the cold tier and promote them on access")
+    void testDemoteAndPromote() {
+        // Act
+        int moved = repository.sweep();
+
+        // Assert
+        assertEquals(3, moved);
+        assertEquals(0, repository.getHotCount());
+        assertEquals(3, repository.getColdCount());
+        User user = repository.findById(2);
+        assertEquals("Raj", user.getName());
+        assertEquals("raj@gmail.com", user.getEmail());
+        assertEquals(1, repository.getHotCount());
+        assertEquals(2, repository.getColdCount());
+    }
+
+    @Test
+    @DisplayName("Should apply writes to cold users")
+    void testWritesToColdUsers() {
+        // Arrange
+        repository.sweep();
+
+        // Act
+        assertFalse(repository.insert(new User(1, "Duplicate", "dup@test.com")));
+        assertTrue(repository.update(new User(2, "Updated", null)));
+        assertTrue(repository.delete(3));
+        assertFalse(repository.delete(3));
+
+        // Assert
+        assertEquals("Updated", repository.findById(2).getName());
+        assertNull(repository.findById(2).getEmail());
+        assertNull(repository.findById(3));
+        assertEquals(List.of(1, 2), repository.findAll().stream().map(User::getId).toList());
+    }
+
+    @Test
+    @DisplayName("Should page across both tiers in id order without promoting")
+    void testPagingAcrossTiers() {
+        // Arrange
+        List<User> users = new ArrayList<>();
+        for (int id = 10; id < 5010; id++) {
+            users.add(new User(id, "User" + id, "user" + id + "@test.com"));
+        }
+        assertTrue(repository.insertAll(users));
+        repository.sweep();
+        repository.findById(2500);
+        repository.findById(3);
+
+        // Act
+        List<User> page = repository.findPage(2490, 20);
+        List<User> all = repository.findAll();
+
+        // Assert
+        assertEquals(5003, all.size());
+        for (int i = 1; i < all.size(); i++) {
+            assertTrue(all.get(i - 1).getId() < all.get(i).getId());
+        }
+        assertEquals(2497, page.get(0).getId());
+        assertEquals(20, page.size());
+        assertEquals("User2500", page.get(3).getName());
+        assertEquals(2, repository.getHotCount());
+    }
+
+    @Test
+    @DisplayName("Should compact the segment file once it is mostly dead records")
+    void testCompaction() throws Exception {
+        // Arrange
+        List<User> users = new ArrayList<>();
+        for (int id = 10; id < 2010; id++) {
+            users.add(new User(id, "User" + id, "user" + id + "@test.com"));
+        }
+        repository.insertAll(users);
+
+        // Act
+        for (int round = 0; round < 5; round++) {
+            repository.sweep();
+            for (int id = 10; id < 2010; id++) {
+                repository.findById(id);
+            }
+        }
+        repository.sweep();
+
+        // Assert
+        assertEquals(2003, repository.getColdCount());
+        assertEquals("User1999", repository.findById(1999).getName());
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(1, files.count());
+        }
+        assertTrue(repository.getColdFileBytes() < 3 * 2003 * 40L, "dead records were not reclaimed");
+    }
+}
@@ -0,0 +1,172 @@
+package com.shivam.MyWeb.Repository;
+
+import com.shivam.MyWeb.Model.User;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.unit.DataSize;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigInteger;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Measures heap footprint and read latency of the tiered store against the plain in-memory store.
+ *
+ * Reads follow a Zipf-like distribution (rank drawn log-uniformly, so a few users take most reads),
+ * scrambled across the id space so the hot users are not neighbours. Run with enough heap for the
+ * all-in-memory baseline:
+ *   mvn test -Dtest=TieringBenchmarkTest -Dtiering.benchmark=true -DargLine=-Xmx4g
+ * The number of users defaults to 10M and can be set with -Dtiering.benchmark.users.
+ */
+@EnabledIfSystemProperty(named = "tiering.benchmark", matches = "true")
+class TieringBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(TieringBenchmarkTest.class);
+
+    private static final int USERS = Integer.getInteger("tiering.benchmark.users", 10_000_000);
+    private static final int LOAD_BATCH = 100_000;
+    private static final int READS = 2_000_000;
+    private static final int LATENCY_SAMPLES = 100_000;
+    private static final int FIRST_ID = 1_000;
+    private static final long SCRAMBLE_MULTIPLIER = coprimeMultiplier();
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("In-memory store: heap with every user on the heap")
+    void testInMemoryFootprint() {
+        // Arrange
+        long before = usedHeap();
+        InMemoryUserRepository repository = new InMemoryUserRepository();
+
+        // Act
+        load(repository, null);
+        long heap = usedHeap() - before;
+
+        // Assert
+        assertEquals(USERS + 3, repository.findAll().size());
+        log.info("In-memory store, {} users: heap {} MB ({} bytes/user)", USERS, heap >> 20, heap / USERS);
+        assertNotNull(repository.findById(FIRST_ID));
+    }
+
+    @Test
+    @DisplayName("Tiered store: heap and cold-read latency under a skewed read mix")
+    void testTieredFootprintAndLatency() throws Exception {
+        // Arrange
+        TieringProperties properties = new TieringProperties();
+        properties.setIdleAfter(Duration.ZERO);
+        properties.setSweepInterval(Duration.ofHours(1));
+        properties.setDirectory(directory.toString());
+        properties.setChunkSize(DataSize.ofMegabytes(64));
+        long before = usedHeap();
+        TieredUserRepository repository = new TieredUserRepository(properties);
+        try {
+            load(repository, repository);
+            long allColdHeap = usedHeap() - before;
+
+            // Act
+            SplittableRandom random = new SplittableRandom(42);
+            long start = System.nanoTime();
+            for (int i = 0; i < READS; i++) {
+                repository.findById(skewedId(random));
+            }
+            double readsPerSecond = READS / ((System.nanoTime() - start) / 1e9);
+            long skewedHeap = usedHeap() - before;
+
+            long[] coldReads = new long[LATENCY_SAMPLES];
+            int coldSamples = 0;
+            for (int i = 0; coldSamples < LATENCY_SAMPLES && i < LATENCY_SAMPLES * 4; i++) {
+                int id = FIRST_ID + random.nextInt(USERS);
+                int hotBefore = repository.getHotCount();
+                long readStart = System.nanoTime();
+                User user = repository.findById(id);
+                long elapsed = System.nanoTime() - readStart;
+                assertNotNull(user);
+                if (repository.getHotCount() > hotBefore) {
+                    coldReads[coldSamples++] = elapsed;
+                }
+            }
+            long[] hotReads = new long[LATENCY_SAMPLES];
+            for (int i = 0; i < LATENCY_SAMPLES; i++) {
+                int id = FIRST_ID + scramble(1 + random.nextInt(100));
+                long readStart = System.nanoTime();
+                repository.findById(id);
+                hotReads[i] = System.nanoTime() - readStart;
+            }
+
+            // Assert
+            log.info("Tiered store, {} users, all cold: heap {} MB ({} bytes/user), index {} MB, file {} MB",
+                USERS, allColdHeap >> 20, allColdHeap / USERS, repository.getColdIndexBytes() >> 20,
+                repository.getColdFileBytes() >> 20);
+            log.info("Tiered store after {} skewed reads ({} reads/s): {} hot, {} cold, heap {} MB",
+                READS, Math.round(readsPerSecond), repository.getHotCount(), repository.getColdCount(), skewedHeap >> 20);
+            log.info("Cold read with promotion: p50 {} ns, p99 {} ns, p99.9 {} ns ({} samples)",
+                percentile(coldReads, coldSamples, 0.50), percentile(coldReads, coldSamples, 0.99),
+                percentile(coldReads, coldSamples, 0.999), coldSamples);
+            log.info("Hot read: p50 {} ns, p99 {} ns",
+                percentile(hotReads, LATENCY_SAMPLES, 0.50), percentile(hotReads, LATENCY_SAMPLES, 0.99));
+            assertEquals(USERS + 3, repository.getHotCount() + repository.getColdCount());
+        } finally {
+            repository.destroy();
+        }
+    }
+
+    // Loads USERS users in batches; with a tiered store each batch is swept cold before the next
+    private static void load(UserRepository repository, TieredUserRepository tiered) {
+        List<User> batch = new ArrayList<>(LOAD_BATCH);
+        for (int i = 0; i < USERS; i++) {
+            batch.add(new User(FIRST_ID + i, "User" + i, "user" + i + "@example.com"));
+            if (batch.size() == LOAD_BATCH || i == USERS - 1) {
+                repository.saveAll(batch);
+                batch.clear();
+                if (tiered != null) {
+                    tiered.sweep();
+                }
+            }
+        }
+    }
+
+    // Rank drawn log-uniformly from 1..USERS, so rank r is read with probability proportional to 1/r
+    private static int skewedId(SplittableRandom random) {
+        int rank = (int) Math.exp(random.nextDouble() * Math.log(USERS));
+        return FIRST_ID + scramble(rank);
+    }
+
+    // Spreads ranks over the id space; a multiplier coprime with USERS makes this a permutation
+    private static int scramble(int rank) {
+        return (int) ((rank * SCRAMBLE_MULTIPLIER) % USERS);
+    }
+
+    private static long coprimeMultiplier() {
+        long multiplier = 2_654_435_761L;
+        while (BigInteger.valueOf(multiplier).gcd(BigInteger.valueOf(USERS)).intValue() != 1) {
+            multiplier += 2;
+        }
+        return multiplier;
+    }
+
+    private static long percentile(long[] nanos, int count, double fraction) {
+        long[] sorted = Arrays.copyOf(nanos, count);
+        Arrays.sort(sorted);
+        return sorted[Math.min(count - 1, (int) (count * fraction))];
+    }
+
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+}
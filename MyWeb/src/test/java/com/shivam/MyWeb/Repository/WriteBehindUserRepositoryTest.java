@@ -0,0 +1,269 @@
+package com.shivam.MyWeb.Repository;
+
+import com.shivam.MyWeb.Model.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WriteBehindUserRepositoryTest {
+
+    private final RecordingRepository delegate = new RecordingRepository();
+    private WriteBehindUserRepository repository;
+
+    @AfterEach
+    void tearDown() throws Exception {
+        delegate.gate.countDown();
+        repository.destroy();
+    }
+
+    @Test
+    @DisplayName("Should make writes visible before they are flushed")
+    void testReadYourWrites() {
+        // Arrange
+        delegate.gate = new CountDownLatch(1);
+        repository = new WriteBehindUserRepository(delegate, properties(WriteBehindProperties.Ack.MEMORY, 100));
+
+        // Act
+        assertTrue(repository.insert(new User(10, "Pending", "pending@test.com")));
+        assertTrue(repository.delete(1));
+
+        // Assert
+        assertEquals("Pending", repository.findById(10).getName());
+        assertNull(repository.findById(1));
+        assertFalse(repository.findAll().stream().anyMatch(u -> u.getId() == 1));
+        assertNull(delegate.findById(10));
+        assertFalse(repository.insert(new User(10, "Again", "again@test.com")));
+    }
+
+    @Test
+    @DisplayName("Should page by id through the store with unflushed writes merged in")
+    void testFindPageAfterMergesOverlay() {
+        // Arrange
+        delegate.gate = new CountDownLatch(1);
+        for (int id = 4; id <= 10; id++) {
+            delegate.insert(new User(id, "User" + id, null));
+        }
+        repository = new WriteBehindUserRepository(delegate, properties(WriteBehindProperties.Ack.MEMORY, 100));
+        repository.delete(2);
+        repository.delete(5);
+        repository.update(new User(4, "Changed", null));
+        repository.insert(new User(11, "Pending", null));
+
+        // Act
+        List<List<Integer>> pages = new ArrayList<>();
+        int lastId = Integer.MIN_VALUE;
+        List<User> page;
+        do {
+            page = repository.findPageAfter(lastId, 3);
+            pages.add(page.stream().map(User::getId).toList());
+            if (!page.isEmpty()) {
+                lastId = page.get(page.size() - 1).getId();
+            }
+        } while (page.size() == 3);
+
+        // Assert
+        assertEquals(List.of(List.of(1, 3, 4), List.of(6, 7, 8), List.of(9, 10, 11), List.of()), pages);
+        assertEquals("Changed", repository.findPageAfter(3, 1).get(0).getName());
+    }
+
+    @Test
+    @DisplayName("Should return the same pages by offset as slicing findAll")
+    void testFindPageMergesOverlay() {
+        // Arrange
+        delegate.gate = new CountDownLatch(1);
+        for (int id = 4; id <= 30; id++) {
+            delegate.insert(new User(id, "User" + id, null));
+        }
+        repository = new WriteBehindUserRepository(delegate, properties(WriteBehindProperties.Ack.MEMORY, 100));
+        for (int id : new int[] {1, 2, 12, 13, 14, 29}) {
+            repository.delete(id);
+        }
+        for (int id : new int[] {0, 15, 31, 32}) {
+            repository.insert(new User(id, "Pending" + id, null));
+        }
+        repository.update(new User(20, "Changed", null));
+        List<Integer> all = repository.findAll().stream().map(User::getId).toList();
+
+        // Act & Assert
+        for (int offset = 0; offset <= all.size() + 2; offset++) {
+            for (int limit = 1; limit <= 6; limit++) {
+                List<Integer> expected = all.subList(Math.min(offset, all.size()), Math.min(offset + limit, all.size()));
+                List<Integer> page = repository.findPage(offset, limit).stream().map(User::getId).toList();
+                assertEquals(expected, page, "offset " + offset + ", limit " + limit);
+            }
+        }
+        assertEquals("Changed", repository.findPage(all.indexOf(20), 1).get(0).getName());
+    }
+
+    @Test
+    @DisplayName("Should merge repeated updates to one id into one row write")
+    void testCoalescing() throws Exception {
+        // Arrange
+        delegate.gate = new CountDownLatch(1);
+        repository = new WriteBehindUserRepository(delegate, properties(WriteBehindProperties.Ack.MEMORY, 100));
+        repository.update(new User(2, "Warmup", "warmup@test.com"));
+        awaitClaimed();
+
+        // Act
+        for (int i = 0; i < 10; i++) {
+            repository.update(new User(3, "Rajesh" + i, "rajesh@gmail.com"));
+        }
+        delegate.gate.countDown();
+        awaitFlushed();
+
+        // Assert
+        assertEquals("Rajesh9", delegate.findById(3).getName());
+        assertEquals(2, delegate.rowsWritten.get());
+    }
+
+    @Test
+    @DisplayName("Should wait for the flush when acknowledging flushed writes")
+    void testFlushedAck() {
+        // Arrange
+        repository = new WriteBehindUserRepository(delegate, properties(WriteBehindProperties.Ack.FLUSHED, 100));
+
+        // Act
+        repository.update(new User(1, "Durable", "durable@test.com"));
+
+        // Assert
+        assertEquals("Durable", delegate.findById(1).getName());
+    }
+
+    @Test
+    @DisplayName("Should refuse writes once the queue is full")
+    void testBackpressure() throws Exception {
+        // Arrange
+        delegate.gate = new CountDownLatch(1);
+        repository = new WriteBehindUserRepository(delegate, properties(WriteBehindProperties.Ack.MEMORY, 2));
+        repository.update(new User(1, "First", "first@test.com"));
+        awaitClaimed();
+        repository.update(new User(2, "Second", "second@test.com"));
+
+        // Act & Assert
+        assertThrows(WriteQueueFullException.class,
+            () -> repository.update(new User(3, "Third", "third@test.com")));
+        // Coalescing into an entry that is still queued needs no extra room
+        assertTrue(repository.update(new User(2, "SecondAgain", "second@test.com")));
+    }
+
+    @Test
+    @DisplayName("Should drop a row that keeps failing without holding back the rest of its batch")
+    void testPoisonRow() throws Exception {
+        // Arrange
+        delegate.poisonId = 4;
+        repository = new WriteBehindUserRepository(delegate, properties(WriteBehindProperties.Ack.MEMORY, 2));
+
+        // Act
+        repository.saveAll(List.of(new User(4, "Poison", "poison@test.com"), new User(5, "Good", "good@test.com")));
+        awaitFlushed();
+
+        // Assert
+        assertEquals("Good", delegate.findById(5).getName());
+        assertNull(delegate.findById(4));
+        assertEquals(1, repository.getDroppedCount());
+        // Both queue slots are free again
+        assertTrue(repository.update(new User(1, "First", "first@test.com")));
+        assertTrue(repository.update(new User(2, "Second", "second@test.com")));
+    }
+
+    @Test
+    @DisplayName("Should fail a flushed-ack write that could not be stored")
+    void testFlushedAckFailure() {
+        // Arrange
+        delegate.poisonId = 4;
+        repository = new WriteBehindUserRepository(delegate, properties(WriteBehindProperties.Ack.FLUSHED, 100));
+
+        // Act & Assert
+        assertThrows(WriteFailedException.class, () -> repository.insert(new User(4, "Poison", "poison@test.com")));
+    }
+
+    @Test
+    @DisplayName("Should give up waiting on a flush after the flush timeout")
+    void testFlushedAckTimeout() {
+        // Arrange
+        delegate.gate = new CountDownLatch(1);
+        WriteBehindProperties properties = properties(WriteBehindProperties.Ack.FLUSHED, 100);
+        properties.setFlushTimeout(Duration.ofMillis(50));
+        repository = new WriteBehindUserRepository(delegate, properties);
+
+        // Act & Assert
+        assertThrows(WriteNotFlushedException.class, () -> repository.update(new User(1, "Slow", "slow@test.com")));
+    }
+
+    @Test
+    @DisplayName("Should publish none of a batch insert when one id already exists")
+    void testInsertAllIsAtomic() {
+        // Arrange
+        delegate.gate = new CountDownLatch(1);
+        repository = new WriteBehindUserRepository(delegate, properties(WriteBehindProperties.Ack.MEMORY, 100));
+
+        // Act
+        boolean inserted = repository.insertAll(List.of(
+            new User(20, "New", "new@test.com"), new User(1, "Taken", "taken@test.com")));
+
+        // Assert
+        assertFalse(inserted);
+        assertNull(repository.findById(20));
+        assertEquals(0, repository.getPendingCount());
+        assertTrue(repository.insertAll(List.of(new User(20, "New", "new@test.com"))));
+    }
+
+    private WriteBehindProperties properties(WriteBehindProperties.Ack ack, int queueCapacity) {
+        WriteBehindProperties properties = new WriteBehindProperties();
+        properties.setEnabled(true);
+        properties.setAck(ack);
+        properties.setQueueCapacity(queueCapacity);
+        properties.setFlushInterval(Duration.ofMillis(5));
+        properties.setOfferTimeout(Duration.ofMillis(50));
+        properties.setMaxAttempts(2);
+        return properties;
+    }
+
+    private void awaitClaimed() throws InterruptedException {
+        assertTrue(delegate.flushStarted.await(5, TimeUnit.SECONDS));
+    }
+
+    private void awaitFlushed() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (repository.getPendingCount() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(0, repository.getPendingCount());
+    }
+
+    /**
+     * Counts rows written, can hold the writer thread inside its first flush, and fails every write of
+     * poisonId.
+     */
+    private static class RecordingRepository extends InMemoryUserRepository {
+
+        final AtomicInteger rowsWritten = new AtomicInteger();
+        final CountDownLatch flushStarted = new CountDownLatch(1);
+        volatile CountDownLatch gate = new CountDownLatch(0);
+        volatile int poisonId = -1;
+
+        @Override
+        public void saveAll(List<User> users) {
+            flushStarted.countDown();
+            try {
+                gate.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (users.stream().anyMatch(user -> user.getId() == poisonId)) {
+                throw new IllegalStateException("Value too long for column NAME");
+            }
+            rowsWritten.addAndGet(users.size());
+            super.saveAll(users);
+        }
+    }
+}
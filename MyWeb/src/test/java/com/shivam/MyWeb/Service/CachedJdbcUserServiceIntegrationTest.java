@@ -0,0 +1,15 @@
+package com.shivam.MyWeb.Service;
+
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * Runs every UserServiceIntegrationTest case against the JDBC store with the read-through cache on,
+ * so each write path is checked for stale cache entries.
+ */
+@ActiveProfiles("jdbc")
+@TestPropertySource(properties = {
+    "users.cache.enabled=true"
+})
+class CachedJdbcUserServiceIntegrationTest extends UserServiceIntegrationTest {
+}
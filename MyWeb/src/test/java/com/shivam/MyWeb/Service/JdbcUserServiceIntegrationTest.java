@@ -0,0 +1,10 @@
+package com.shivam.MyWeb.Service;
+
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Runs every UserServiceIntegrationTest case against the JDBC store on embedded H2.
+ */
+@ActiveProfiles("jdbc")
+class JdbcUserServiceIntegrationTest extends UserServiceIntegrationTest {
+}
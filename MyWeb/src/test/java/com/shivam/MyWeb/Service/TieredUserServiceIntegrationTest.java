@@ -0,0 +1,16 @@
+package com.shivam.MyWeb.Service;
+
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * Runs every UserServiceIntegrationTest case against the tiered store with an idle window of zero,
+ * so users keep moving to the cold segment and back while the cases run.
+ */
+@TestPropertySource(properties = {
+    "users.store=tiered",
+    "users.tiering.idle-after=0s",
+    "users.tiering.sweep-interval=20ms",
+    "users.tiering.chunk-size=1MB"
+})
+class TieredUserServiceIntegrationTest extends UserServiceIntegrationTest {
+}
@@ -0,0 +1,38 @@
+package com.shivam.MyWeb.Service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserIdAllocatorTest {
+
+    @Test
+    @DisplayName("Should start above the seeded maximum id")
+    void testSeed() {
+        // Arrange
+        UserIdAllocator allocator = new UserIdAllocator(0, 1, 64);
+
+        // Act
+        allocator.seed(1000);
+
+        // Assert
+        assertEquals(1025, allocator.nextId());
+    }
+
+    @Test
+    @DisplayName("Should keep each node on its own blocks after seeding")
+    void testSeedWithSeveralNodes() {
+        // Arrange
+        UserIdAllocator node0 = new UserIdAllocator(0, 2, 10);
+        UserIdAllocator node1 = new UserIdAllocator(1, 2, 10);
+
+        // Act
+        node0.seed(35);
+        node1.seed(35);
+
+        // Assert: blocks alternate between nodes, 41-50 is node 0's and 51-60 is node 1's
+        assertEquals(41, node0.nextId());
+        assertEquals(51, node1.nextId());
+    }
+}
@@ -1,14 +1,24 @@
 package com.shivam.MyWeb.Service;
 
 import com.shivam.MyWeb.Model.User;
+import com.shivam.MyWeb.Repository.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.support.AopUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.TestPropertySource;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -18,9 +28,14 @@ import static org.junit.jupiter.api.Assertions.*;
 })
 class UserServiceIntegrationTest {
 
+    private static final Logger log = LoggerFactory.getLogger(UserServiceIntegrationTest.class);
+
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private UserRepository userRepository;
+
     private User testUser1;
     private User testUser2;
 
@@ -74,6 +89,43 @@ class UserServiceIntegrationTest {
         assertTrue(users.stream().anyMatch(u -> u.getId() == testUser1.getId()));
     }
 
+    @Test
+    @DisplayName("Should reject a user whose id already exists")
+    void testAddDuplicateUser() {
+        // Act & Assert
+        assertThrows(DuplicateUserException.class,
+            () -> userService.addUser(new User(1, "DuplicateShivam", "duplicate@test.com")));
+        assertNotEquals("DuplicateShivam", userService.getUser(1).getName());
+    }
+
+    @Test
+    @DisplayName("Should allocate unique ids under concurrent creates")
+    void testCreateUserConcurrently() throws Exception {
+        // Arrange
+        int threads = 8;
+        int perThread = 500;
+        Set<Integer> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        // Act
+        for (int t = 0; t < threads; t++) {
+            executor.submit(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    ids.add(userService.createUser(new User(0, "Allocated", "allocated@test.com")).getId());
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        // Assert
+        assertEquals(threads * perThread, ids.size());
+        assertFalse(ids.contains(1) || ids.contains(2) || ids.contains(3));
+
+        // Clean up
+        ids.forEach(userService::deleteUser);
+    }
+
     @Test
     @DisplayName("Should update existing user successfully")
     void testUpdateUser() {
@@ -109,6 +161,104 @@ class UserServiceIntegrationTest {
         assertFalse(users.stream().anyMatch(u -> u.getId() == testUser2.getId()));
     }
 
+    @Test
+    @DisplayName("Should get many users by ID in request order")
+    void testGetUsers() {
+        // Act
+        List<User> users = userService.getUsers(List.of(3, 99999, 1));
+
+        // Assert
+        assertEquals(3, users.size());
+        assertEquals(3, users.get(0).getId());
+        assertNull(users.get(1));
+        assertEquals(1, users.get(2).getId());
+    }
+
+    @Test
+    @DisplayName("Should get one page of users ordered by ID")
+    void testGetUsersPage() {
+        // Act
+        List<User> firstPage = userService.getUsersPage(0, 2);
+        List<User> secondPage = userService.getUsersPage(1, 2);
+
+        // Assert
+        assertEquals(2, firstPage.size());
+        assertEquals(1, firstPage.get(0).getId());
+        assertEquals(2, firstPage.get(1).getId());
+        assertEquals(3, secondPage.get(0).getId());
+    }
+
+    @Test
+    @DisplayName("Should bulk load users all or nothing")
+    void testAddUsersRejectsDuplicates() {
+        // Arrange
+        List<User> batch = List.of(new User(300, "Bulk1", "bulk1@test.com"), new User(1, "Bulk2", "bulk2@test.com"));
+
+        // Act & Assert
+        assertThrows(DuplicateUserException.class, () -> userService.addUsers(batch));
+        assertNull(userService.getUser(300));
+    }
+
+    @Test
+    @DisplayName("Should report bulk load and read throughput for the configured store")
+    void testStoreThroughput() {
+        // Arrange
+        int count = 10_000;
+        List<User> batch = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            batch.add(new User(1_000_000 + i, "Bulk" + i, "bulk" + i + "@test.com"));
+        }
+
+        // Act
+        long start = System.nanoTime();
+        userService.addUsers(batch);
+        long loadNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (User user : batch) {
+            assertNotNull(userService.getUser(user.getId()));
+        }
+        long readNanos = System.nanoTime() - start;
+
+        // Assert
+        log.debug("{}: bulk load {} users/s, point reads {} reads/s",
+            AopUtils.getTargetClass(userRepository).getSimpleName(),
+            Math.round(count / (loadNanos / 1e9)), Math.round(count / (readNanos / 1e9)));
+        assertEquals(count, userService.getAllUsers().stream().filter(u -> u.getId() >= 1_000_000).count());
+
+        // Clean up
+        batch.forEach(u -> userService.deleteUser(u.getId()));
+    }
+
+    @Test
+    @DisplayName("Should report single-update throughput for the configured store")
+    void testUpdateThroughput() {
+        // Arrange
+        int hotUsers = 100;
+        int updates = 5_000;
+        List<User> batch = new ArrayList<>(hotUsers);
+        for (int i = 0; i < hotUsers; i++) {
+            batch.add(new User(2_000_000 + i, "Hot" + i, "hot" + i + "@test.com"));
+        }
+        userService.addUsers(batch);
+
+        // Act
+        long start = System.nanoTime();
+        for (int i = 0; i < updates; i++) {
+            int id = 2_000_000 + (i % hotUsers);
+            userService.updateUser(new User(id, "Hot" + id + "v" + i, "hot" + id + "@test.com"));
+        }
+        long updateNanos = System.nanoTime() - start;
+
+        // Assert
+        log.debug("{}: single updates {} updates/s",
+            AopUtils.getTargetClass(userRepository).getSimpleName(), Math.round(updates / (updateNanos / 1e9)));
+        assertEquals("Hot2000099v" + (updates - 1), userService.getUser(2_000_099).getName());
+
+        // Clean up
+        batch.forEach(u -> userService.deleteUser(u.getId()));
+    }
+
     @Test
     @DisplayName("Should get correct index for user")
     void testGetIndex() {
@@ -0,0 +1,15 @@
+package com.shivam.MyWeb.Service;
+
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * Runs every UserServiceIntegrationTest case against the JDBC store behind write-behind,
+ * so reads are checked to see writes that have not been flushed yet.
+ */
+@ActiveProfiles("jdbc")
+@TestPropertySource(properties = {
+    "users.write-behind.enabled=true"
+})
+class WriteBehindUserServiceIntegrationTest extends UserServiceIntegrationTest {
+}
@@ -0,0 +1,113 @@
+package com.shivam.MyWeb;
+
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Measures time-to-first-request of the packaged application in each startup mode.
+ *
+ * Build the artifacts first, then run with the benchmark switched on:
+ *   mvn -Paot package -DskipTests
+ *   mvn -Pnative native:compile -DskipTests      (optional, needs GraalVM)
+ *   mvn test -Dtest=StartupBenchmarkTest -Dstartup.benchmark=true
+ * Modes whose artifact is missing are skipped.
+ */
+@EnabledIfSystemProperty(named = "startup.benchmark", matches = "true")
+class StartupBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(StartupBenchmarkTest.class);
+
+    private static final Path TARGET = Path.of("target");
+    private static final String JAR = "MyWeb-0.0.1-SNAPSHOT.jar";
+    private static final long TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(60);
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @Test
+    @DisplayName("Plain JVM: time to first request")
+    void testJvmStartup() throws Exception {
+        Path jar = TARGET.resolve(JAR);
+        Assumptions.assumeTrue(Files.exists(jar), "Run mvn package first");
+
+        measure("jvm", List.of(javaExecutable(), "-jar", jar.toString()));
+    }
+
+    @Test
+    @DisplayName("AOT with CDS archive: time to first request")
+    void testAotCdsStartup() throws Exception {
+        Path jar = TARGET.resolve("cds").resolve(JAR);
+        Path archive = TARGET.resolve("cds").resolve("MyWeb.jsa");
+        Assumptions.assumeTrue(Files.exists(jar) && Files.exists(archive), "Run mvn -Paot package first");
+
+        measure("aot+cds", List.of(javaExecutable(), "-XX:SharedArchiveFile=" + archive,
+            "-Dspring.aot.enabled=true", "-jar", jar.toString()));
+    }
+
+    @Test
+    @DisplayName("Native image: time to first request")
+    void testNativeStartup() throws Exception {
+        Path executable = TARGET.resolve("MyWeb");
+        Assumptions.assumeTrue(Files.isExecutable(executable), "Run mvn -Pnative native:compile first");
+
+        measure("native", List.of(executable.toString()));
+    }
+
+    private void measure(String mode, List<String> command) throws Exception {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        List<String> fullCommand = new ArrayList<>(command);
+        fullCommand.add("--server.port=" + port);
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/users/1")).build();
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(fullCommand)
+            .redirectErrorStream(true)
+            .redirectOutput(new File(TARGET.toFile(), "startup-" + mode.replace('+', '-') + ".log"))
+            .start();
+        try {
+            while (System.nanoTime() - start < TIMEOUT_NANOS) {
+                assertTrue(process.isAlive(), mode + " process exited during startup");
+                try {
+                    HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+                    if (response.statusCode() == 200) {
+                        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                        log.info("Startup mode {}: time to first request {} ms", mode, elapsedMillis);
+                        return;
+                    }
+                } catch (ConnectException e) {
+                    // Not listening yet
+                }
+                Thread.sleep(10);
+            }
+            fail(mode + " did not answer within 60 seconds");
+        } finally {
+            process.destroy();
+            process.waitFor(10, TimeUnit.SECONDS);
+        }
+    }
+
+    private static String javaExecutable() {
+        return Path.of(System.getProperty("java.home"), "bin", "java").toString();
+    }
+}
@@ -0,0 +1,119 @@
+package com.shivam.MyWeb.Timing;
+
+import com.shivam.MyWeb.Model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.TestPropertySource;
+
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestPropertySource(properties = {
+    "users.timing.sample-rate=1.0"
+})
+class ServerTimingIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    private String baseUrl;
+
+    @BeforeEach
+    void setUp() {
+        baseUrl = "http://localhost:" + port;
+    }
+
+    @Test
+    @DisplayName("Should send the final Server-Timing phases as a trailer after a streamed body")
+    void testServerTimingOnRead() throws Exception {
+        // Act: the JDK and Apache clients drop trailers, so read the raw HTTP/1.1 response
+        String response;
+        try (Socket socket = new Socket("localhost", port)) {
+            socket.getOutputStream().write(("GET /users/1 HTTP/1.1\r\nHost: localhost\r\nTE: trailers\r\n"
+                + "Connection: close\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+            response = new String(socket.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+        }
+
+        // Assert
+        assertTrue(response.startsWith("HTTP/1.1 200"), response);
+        int bodyEnd = response.indexOf("\r\n0\r\n");
+        assertTrue(bodyEnd > 0, response);
+        assertTrue(response.substring(0, bodyEnd).contains("\"id\":1"), response);
+        String headers = response.substring(0, response.indexOf("\r\n\r\n"));
+        String trailer = response.substring(bodyEnd);
+        assertTrue(headers.contains(ServerTimingFilter.SERVER_TIMING + ": dispatch;dur="), response);
+        assertTrue(trailer.contains(ServerTimingFilter.SERVER_TIMING + ": serialize;dur="), response);
+        assertTrue(trailer.contains("total;dur="), response);
+        assertFalse(trailer.contains("service;dur="), response);
+    }
+
+    @Test
+    @DisplayName("Should send the phases before serialization as a header to clients without trailers")
+    void testServerTimingHeaderOnRead() {
+        // Act
+        ResponseEntity<User> response = restTemplate.getForEntity(baseUrl + "/users/1", User.class);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNull(response.getHeaders().getFirst(HttpHeaders.TRAILER));
+        String header = response.getHeaders().getFirst(ServerTimingFilter.SERVER_TIMING);
+        assertNotNull(header);
+        for (ServerTimings.Phase phase : List.of(ServerTimings.Phase.DISPATCH, ServerTimings.Phase.SERVICE)) {
+            assertTrue(header.contains(phase.getMetricName() + ";dur="), header);
+        }
+        assertFalse(header.contains("total;dur="), header);
+    }
+
+    @Test
+    @DisplayName("Should send Server-Timing as a header on a write without a body")
+    void testServerTimingOnWrite() {
+        // Arrange
+        User user = restTemplate.getForObject(baseUrl + "/users/2", User.class);
+
+        // Act
+        ResponseEntity<Void> response = restTemplate.exchange(
+            baseUrl + "/users", HttpMethod.PUT, new HttpEntity<>(user), Void.class);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        String header = response.getHeaders().getFirst(ServerTimingFilter.SERVER_TIMING);
+        assertNotNull(header);
+        assertFalse(header.contains("deserialize;dur=0.000"), header);
+    }
+
+    @Test
+    @DisplayName("Should list sampled requests on the diagnostics endpoint")
+    void testSlowRequestsEndpoint() {
+        // Arrange
+        restTemplate.getForEntity(baseUrl + "/users/3", User.class);
+
+        // Act
+        ResponseEntity<List> response = restTemplate.getForEntity(
+            baseUrl + "/diagnostics/slow-requests?limit=5", List.class);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertFalse(response.getBody().isEmpty());
+        assertTrue(response.getBody().size() <= 5);
+        Map<?, ?> slowest = (Map<?, ?>) response.getBody().get(0);
+        assertTrue(((Map<?, ?>) slowest.get("phasesMillis")).containsKey("total"));
+    }
+}
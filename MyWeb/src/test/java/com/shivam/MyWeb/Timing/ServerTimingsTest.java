@@ -0,0 +1,102 @@
+package com.shivam.MyWeb.Timing;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ServerTimingsTest {
+
+    private static final long MS = 1_000_000L;
+
+    @AfterEach
+    void tearDown() {
+        ServerTimings timings = ServerTimings.current();
+        if (timings != null) {
+            timings.end();
+        }
+    }
+
+    @Test
+    @DisplayName("Should split a request into its phases")
+    void testPhaseMath() {
+        // Arrange
+        ServerTimings timings = ServerTimings.begin(0);
+
+        // Act
+        timings.handlerStarted(2 * MS);
+        timings.deserializeStarted(3 * MS);
+        timings.deserializeFinished(4 * MS);
+        ServerTimings.addLockWait(5 * MS);
+        timings.serializeStarted(12 * MS);
+        timings.finish(15 * MS);
+
+        // Assert
+        assertEquals(2 * MS, timings.getDuration(ServerTimings.Phase.DISPATCH));
+        assertEquals(1 * MS, timings.getDuration(ServerTimings.Phase.DESERIALIZE));
+        assertEquals(5 * MS, timings.getDuration(ServerTimings.Phase.LOCK));
+        assertEquals(4 * MS, timings.getDuration(ServerTimings.Phase.SERVICE));
+        assertEquals(3 * MS, timings.getDuration(ServerTimings.Phase.SERIALIZE));
+        assertEquals(15 * MS, timings.getDuration(ServerTimings.Phase.TOTAL));
+    }
+
+    @Test
+    @DisplayName("Should format the Server-Timing header in milliseconds")
+    void testHeaderFormat() {
+        // Arrange
+        ServerTimings timings = ServerTimings.begin(0);
+        timings.handlerStarted(1_500_000);
+
+        // Act
+        timings.finish(12_034_000);
+        String header = timings.toHeader();
+
+        // Assert
+        assertEquals("dispatch;dur=1.500, deserialize;dur=0.000, service;dur=10.534, lock;dur=0.000, "
+            + "serialize;dur=0.000, total;dur=12.034", header);
+        assertEquals("serialize;dur=0.000, total;dur=12.034",
+            timings.toHeader(ServerTimings.Phase.SERIALIZE, ServerTimings.Phase.TOTAL));
+    }
+
+    @Test
+    @DisplayName("Should ignore lock waits outside a timed request")
+    void testLockWaitOutsideRequest() {
+        // Arrange
+        ServerTimings timings = ServerTimings.begin(0);
+        timings.end();
+
+        // Act
+        ServerTimings.addLockWait(5 * MS);
+
+        // Assert
+        assertNull(ServerTimings.current());
+        assertEquals(0, timings.getDuration(ServerTimings.Phase.LOCK));
+    }
+
+    @Test
+    @DisplayName("Should keep only the sampled requests, slowest first")
+    void testSlowRequestRecorder() {
+        // Arrange
+        TimingProperties properties = new TimingProperties();
+        properties.setSampleRate(1.0);
+        properties.setRingSize(2);
+        SlowRequestRecorder recorder = new SlowRequestRecorder(properties);
+
+        // Act
+        for (long total : new long[] {5 * MS, 9 * MS, 7 * MS}) {
+            ServerTimings timings = ServerTimings.begin(0);
+            timings.finish(total);
+            recorder.maybeRecord("GET", "/users/" + total, 200, timings);
+            timings.end();
+        }
+        List<SlowRequest> slowest = recorder.slowest(10);
+
+        // Assert
+        assertEquals(2, slowest.size());
+        assertEquals(9.0, slowest.get(0).getTotalMillis());
+        assertEquals(7.0, slowest.get(1).getTotalMillis());
+    }
+}